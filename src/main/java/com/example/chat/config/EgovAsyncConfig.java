@@ -1,7 +1,9 @@
 package com.example.chat.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
@@ -12,6 +14,24 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class EgovAsyncConfig implements WebMvcConfigurer {
 
+    // ETL 파이프라인 단계별 병렬도
+    @Value("${spring.ai.document.pipeline.read-parallelism:2}")
+    private int readParallelism;
+
+    @Value("${spring.ai.document.pipeline.transform-parallelism:2}")
+    private int transformParallelism;
+
+    @Value("${spring.ai.document.pipeline.write-parallelism:1}")
+    private int writeParallelism;
+
+    // 단계 사이 대기열 크기 (파일 단위)
+    @Value("${spring.ai.document.pipeline.queue-capacity:8}")
+    private int pipelineQueueCapacity;
+
+    // 벡터 저장소 배치 저장 동시 실행 수
+    @Value("${spring.ai.document.writer.max-in-flight-batches:2}")
+    private int maxInFlightBatches;
+
     @Bean(name = "documentProcessingExecutor")
     public Executor documentProcessingExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -23,6 +43,91 @@ public class EgovAsyncConfig implements WebMvcConfigurer {
         return executor;
     }
 
+    @Bean(name = "documentReadExecutor")
+    public Executor documentReadExecutor() {
+        return createPipelineStageExecutor(readParallelism, "doc-read-");
+    }
+
+    @Bean(name = "documentTransformExecutor")
+    public Executor documentTransformExecutor() {
+        return createPipelineStageExecutor(transformParallelism, "doc-transform-");
+    }
+
+    @Bean(name = "documentWriteExecutor")
+    public Executor documentWriteExecutor() {
+        return createPipelineStageExecutor(writeParallelism, "doc-write-");
+    }
+
+    @Bean(name = "vectorStoreWriteExecutor")
+    public Executor vectorStoreWriteExecutor() {
+        return createPipelineStageExecutor(maxInFlightBatches, "vector-write-");
+    }
+
+    /**
+     * RAG 투기적 검색 실행기 (원본 질문 검색과 질문 압축을 동시에 실행)
+     * 포화 시 요청 스레드에서 실행하면 두 작업이 순차 실행되어 투기적 검색의 의미가 없으므로 거부하고 압축 질문 검색만 수행
+     */
+    @Bean(name = "ragRetrievalExecutor")
+    public ThreadPoolTaskExecutor ragRetrievalExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("rag-retrieval-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Cross-encoder 재순위화 추론 실행기 (제한 시간 적용)
+     * 포화 시 요청 스레드에서 추론하면 제한 시간이 적용되지 않으므로 거부하고 검색 순서를 사용
+     */
+    @Bean(name = "rerankExecutor")
+    public Executor rerankExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("rag-rerank-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 질문 압축 LLM 호출 실행기 (제한 시간 적용)
+     * 포화 시 요청 스레드에서 실행하면 제한 시간이 적용되지 않으므로 거부하고 원본 질문을 사용
+     * 제한 시간 초과 시 작업 스레드를 인터럽트하고 실행 중인 작업 수를 확인하도록 ThreadPoolTaskExecutor로 노출
+     */
+    @Bean(name = "queryCompressionExecutor")
+    public ThreadPoolTaskExecutor queryCompressionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("query-compression-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * ETL 파이프라인 단계 실행기 생성
+     * 대기열이 가득 차면 작업을 넘긴 이전 단계 스레드에서 직접 실행하여
+     * 이전 단계의 속도를 늦춘다 (메모리 사용량이 대기열 크기로 제한됨)
+     */
+    private ThreadPoolTaskExecutor createPipelineStageExecutor(int parallelism, String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(pipelineQueueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
     private ThreadPoolTaskExecutor mvcTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(4);
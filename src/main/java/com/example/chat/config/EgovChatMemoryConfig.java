@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.example.chat.config.memory.EgovAppendOnlyChatMemory;
 import com.example.chat.repository.EgovRedisChatMemoryRepository;
 
 @Configuration
@@ -17,6 +18,11 @@ public class EgovChatMemoryConfig {
     
     @Bean
     public ChatMemory chatMemory(EgovRedisChatMemoryRepository redisChatMemoryRepository) {
+        // List 저장 방식: 새 메시지만 추가하고 최근 메시지만 조회
+        if (redisChatMemoryRepository.isListStorage()) {
+            return new EgovAppendOnlyChatMemory(redisChatMemoryRepository, maxMessages);
+        }
+
         return MessageWindowChatMemory.builder()
                 .chatMemoryRepository(redisChatMemoryRepository)
                 .maxMessages(maxMessages) // 설정을 통해 유지 메시지 수 조정
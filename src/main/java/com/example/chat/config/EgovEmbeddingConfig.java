@@ -0,0 +1,83 @@
+package com.example.chat.config;
+
+import java.time.Duration;
+
+import org.springframework.ai.transformers.TransformersEmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import com.example.chat.config.embedding.EgovCachingEmbeddingModel;
+import com.example.chat.config.embedding.EgovQueryEmbeddingCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 임베딩 모델 설정
+ * ONNX Transformers 임베딩 모델을 캐시 래퍼로 감싸 기본(Primary) EmbeddingModel로 등록
+ * RedisVectorStore를 포함한 모든 EmbeddingModel 사용처가 캐시를 거치게 됨
+ */
+@Slf4j
+@Configuration
+public class EgovEmbeddingConfig {
+
+    @Value("${embedding.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${embedding.cache.max-local-entries:5000}")
+    private int maxLocalEntries;
+
+    @Value("${embedding.cache.redis-enabled:true}")
+    private boolean redisCacheEnabled;
+
+    @Value("${embedding.cache.redis-ttl:7d}")
+    private Duration redisTtl;
+
+    @Value("${embedding.cache.key-version:v1}")
+    private String keyVersion;
+
+    @Value("${rag.query-embedding-cache.enabled:true}")
+    private boolean queryCacheEnabled;
+
+    @Value("${rag.query-embedding-cache.max-entries:1000}")
+    private int queryCacheMaxEntries;
+
+    @Value("${rag.query-embedding-cache.ttl:30m}")
+    private Duration queryCacheTtl;
+
+    @Bean
+    @Primary
+    public EgovCachingEmbeddingModel cachingEmbeddingModel(TransformersEmbeddingModel embeddingModel,
+                                                           RedisConnectionFactory connectionFactory,
+                                                           MeterRegistry meterRegistry) {
+        log.info("임베딩 캐시 구성 - 사용: {}, 로컬 최대 항목: {}, Redis 캐시: {}, Redis TTL: {}",
+                cacheEnabled, maxLocalEntries, redisCacheEnabled, redisTtl);
+
+        // 캐시 비활성화 시 로컬 캐시 크기를 0으로 두어 모든 요청이 모델로 전달되도록 함
+        RedisTemplate<String, byte[]> redisTemplate = cacheEnabled && redisCacheEnabled
+                ? embeddingCacheRedisTemplate(connectionFactory) : null;
+        return new EgovCachingEmbeddingModel(embeddingModel, redisTemplate, redisTtl, keyVersion,
+                cacheEnabled ? maxLocalEntries : 0,
+                queryCacheEnabled ? queryEmbeddingCache(meterRegistry) : null, meterRegistry);
+    }
+
+    private EgovQueryEmbeddingCache queryEmbeddingCache(MeterRegistry meterRegistry) {
+        log.info("검색 질문 임베딩 캐시 구성 - 최대 항목: {}, TTL: {}", queryCacheMaxEntries, queryCacheTtl);
+        return new EgovQueryEmbeddingCache(queryCacheMaxEntries, queryCacheTtl, meterRegistry);
+    }
+
+    private RedisTemplate<String, byte[]> embeddingCacheRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+}
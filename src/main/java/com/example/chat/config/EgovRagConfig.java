@@ -1,24 +1,46 @@
 package com.example.chat.config;
 
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.api.Advisor;
+import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.ollama.OllamaChatModel;
 import org.springframework.ai.rag.Query;
 import org.springframework.ai.rag.advisor.RetrievalAugmentationAdvisor;
+import org.springframework.ai.rag.postretrieval.document.DocumentPostProcessor;
 import org.springframework.ai.rag.retrieval.search.DocumentRetriever;
 import org.springframework.ai.rag.retrieval.search.VectorStoreDocumentRetriever;
 import org.springframework.ai.rag.preretrieval.query.transformation.QueryTransformer;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.redis.RedisVectorStore;
+import org.springframework.ai.vectorstore.redis.RedisVectorStore.MetadataField;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.redis.connection.jedis.JedisClientConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+
+import com.example.chat.config.rag.postprocessors.EgovContextPacker;
+import com.example.chat.config.rag.postprocessors.EgovCrossEncoderReranker;
+import com.example.chat.config.rag.retrievers.EgovHybridDocumentRetriever;
+import com.example.chat.config.rag.retrievers.EgovSpeculativeDocumentRetriever;
 import com.example.chat.config.rag.transformers.EgovCompressionQueryTransformer;
+import com.example.chat.config.rag.vectorstore.EgovRedisVectorStore;
+import com.example.chat.config.rag.vectorstore.EgovRedisVectorStore.VectorDataType;
+import com.example.chat.config.rag.vectorstore.EgovRedisVectorStore.VectorIndexOptions;
 
 import lombok.extern.slf4j.Slf4j;
-
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.search.schemafields.VectorField.VectorAlgorithm;
+
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 @Configuration
@@ -30,6 +52,75 @@ public class EgovRagConfig {
     @Value("${rag.top-k}")
     private int topK;
 
+    @Value("${rag.enable-query-compression:true}")
+    private boolean enableQueryCompression;
+
+    // 원본 질문 검색을 질문 압축과 동시에 시작할지 여부
+    @Value("${rag.speculative-retrieval.enabled:false}")
+    private boolean speculativeRetrieval;
+
+    // 투기적 검색에서 압축 결과를 기다리는 최대 시간
+    @Value("${rag.speculative-retrieval.compression-budget:2s}")
+    private Duration compressionBudget;
+
+    // 전문 검색(BM25) + 벡터 검색 하이브리드 사용 여부
+    @Value("${rag.hybrid.enabled:false}")
+    private boolean hybridRetrieval;
+
+    // 하이브리드 검색에서 각 검색이 가져올 후보 수
+    @Value("${rag.hybrid.candidate-k:20}")
+    private int hybridCandidateK;
+
+    // RRF 순위 상수 (클수록 하위 순위 문서의 영향이 커짐)
+    @Value("${rag.hybrid.rrf-k:60}")
+    private int rrfK;
+
+    @Value("${rag.hybrid.scorer:BM25}")
+    private String textScorer;
+
+    @Value("${spring.ai.vectorstore.redis.index-name:spring-ai-index}")
+    private String vectorIndexName;
+
+    @Value("${spring.ai.vectorstore.redis.prefix:embedding:}")
+    private String vectorKeyPrefix;
+
+    @Value("${spring.ai.vectorstore.redis.initialize-schema:false}")
+    private boolean initializeSchema;
+
+    // 벡터 인덱스 알고리즘 (HNSW: 근사 검색, FLAT: 전수 비교)
+    @Value("${rag.vector-index.algorithm:HNSW}")
+    private String vectorAlgorithm;
+
+    // 벡터 자료형 (FLOAT32, FLOAT16, BFLOAT16 - 16비트 자료형은 벡터 인덱스 메모리 절반)
+    @Value("${rag.vector-index.data-type:FLOAT32}")
+    private String vectorDataType;
+
+    @Value("${rag.vector-index.m:16}")
+    private int hnswM;
+
+    @Value("${rag.vector-index.ef-construction:200}")
+    private int hnswEfConstruction;
+
+    @Value("${rag.vector-index.ef-runtime:10}")
+    private int hnswEfRuntime;
+
+    /**
+     * 이미 압축된 독립 질문을 RAG 어드바이저에 전달하는 어드바이저 컨텍스트 키
+     * 응답 캐시 조회를 위해 압축을 먼저 수행한 경우 같은 질문을 다시 압축하지 않도록 사용
+     */
+    public static final String STANDALONE_QUERY_KEY = "rag_standalone_query";
+
+    /**
+     * 벡터 인덱스에 색인하는 메타데이터 필드 (필터 검색 및 검색 결과 메타데이터로 사용)
+     */
+    public static final List<MetadataField> METADATA_FIELDS = List.of(
+            MetadataField.tag("source"),
+            MetadataField.tag("type"),
+            MetadataField.numeric("page_number"),
+            MetadataField.numeric("upload_date"),
+            MetadataField.tag("parent_document_id"),
+            MetadataField.numeric("chunk_index"));
+
     @Bean
     public ChatClient chatClient(OllamaChatModel chatModel) {
         log.info("ChatClient 구성: 기본 어드바이저 없이 생성 (세션별 동적 추가)");
@@ -38,6 +129,50 @@ public class EgovRagConfig {
                 .build();
     }
 
+    /**
+     * 메타데이터 필드를 색인하는 Redis 벡터 저장소
+     * source, type은 TAG, page_number, upload_date는 NUMERIC 필드로 선언하여
+     * 요청별 필터 조건으로 후보를 먼저 좁힌 뒤 KNN 검색을 수행함
+     * 벡터 필드의 알고리즘, 자료형, HNSW 파라미터는 rag.vector-index.* 설정으로 지정
+     * (자동 구성 RedisVectorStore는 메타데이터 필드와 벡터 필드 설정을 지정할 수 없으므로 직접 생성)
+     */
+    @Bean
+    public RedisVectorStore vectorStore(JedisConnectionFactory jedisConnectionFactory, EmbeddingModel embeddingModel) {
+        VectorIndexOptions indexOptions = new VectorIndexOptions(
+                VectorAlgorithm.valueOf(vectorAlgorithm.trim().toUpperCase(Locale.ROOT)),
+                VectorDataType.from(vectorDataType), hnswM, hnswEfConstruction, hnswEfRuntime);
+        log.info("RedisVectorStore 빈 생성 - 인덱스: {}, 접두어: {}, 메타데이터 필드: {}, 벡터 인덱스: {}",
+                vectorIndexName, vectorKeyPrefix, METADATA_FIELDS.stream().map(MetadataField::name).toList(), indexOptions);
+
+        JedisPooled jedis = new JedisPooled(
+                new HostAndPort(jedisConnectionFactory.getHostName(), jedisConnectionFactory.getPort()),
+                jedisClientConfig(jedisConnectionFactory));
+
+        return new EgovRedisVectorStore(RedisVectorStore.builder(jedis, embeddingModel),
+                vectorIndexName, vectorKeyPrefix, METADATA_FIELDS, initializeSchema, indexOptions);
+    }
+
+    /**
+     * spring.data.redis.* 설정(사용자, 비밀번호, DB 번호, SSL, 타임아웃, 클라이언트 이름)을 그대로 적용한 Jedis 클라이언트 설정
+     * 벡터 저장소가 RedisTemplate과 다른 Redis DB나 보안 설정으로 연결되지 않도록 함
+     */
+    private JedisClientConfig jedisClientConfig(JedisConnectionFactory jedisConnectionFactory) {
+        JedisClientConfiguration clientConfiguration = jedisConnectionFactory.getClientConfiguration();
+
+        DefaultJedisClientConfig.Builder builder = DefaultJedisClientConfig.builder()
+                .user(jedisConnectionFactory.getStandaloneConfiguration().getUsername())
+                .password(jedisConnectionFactory.getPassword())
+                .database(jedisConnectionFactory.getDatabase())
+                .connectionTimeoutMillis((int) clientConfiguration.getConnectTimeout().toMillis())
+                .socketTimeoutMillis((int) clientConfiguration.getReadTimeout().toMillis())
+                .ssl(clientConfiguration.isUseSsl());
+        clientConfiguration.getSslSocketFactory().ifPresent(builder::sslSocketFactory);
+        clientConfiguration.getSslParameters().ifPresent(builder::sslParameters);
+        clientConfiguration.getHostnameVerifier().ifPresent(builder::hostnameVerifier);
+        clientConfiguration.getClientName().ifPresent(builder::clientName);
+        return builder.build();
+    }
+
     @Bean
     public VectorStoreDocumentRetriever vectorStoreDocumentRetriever(RedisVectorStore redisVectorStore) {
         log.info("VectorStoreDocumentRetriever 빈 생성 - 유사도 임계값: {}, Top K: {}", similarityThreshold, topK);
@@ -50,93 +185,107 @@ public class EgovRagConfig {
     }
     
     /**
-     * 세션 ID를 직접 전달받아 RAG 어드바이저를 생성하는 정적 메서드
-     * QueryTransformer가 ChatMemory에서 히스토리를 조회하여 질문 압축 수행
+     * 모든 요청이 공유하는 RAG 어드바이저
+     * 세션 ID와 미리 계산된 독립 질문은 요청별 어드바이저 컨텍스트로 전달받으므로
+     * 요청마다 어드바이저, QueryTransformer, DocumentRetriever를 다시 생성하지 않음
      *
-     * @param sessionId 세션 ID
      * @param compressionTransformer 히스토리 압축 transformer
-     * @param documentRetriever Bean으로 생성된 DocumentRetriever (application.yml의 rag.similarity.threshold 적용)
-     * @param enableQueryCompression 질문 압축 활성화 여부
+     * @param vectorStoreDocumentRetriever Bean으로 생성된 DocumentRetriever (application.yml의 rag.similarity.threshold 적용)
+     * @param redisVectorStore 하이브리드 검색에 사용하는 벡터 저장소
+     * @param reranker 검색 후 cross-encoder 재순위화 단계
+     * @param contextPacker 프롬프트 컨텍스트 패킹 단계
      */
-    public static Advisor createRagAdvisor(String sessionId,
-                                         EgovCompressionQueryTransformer compressionTransformer,
-                                         VectorStoreDocumentRetriever documentRetriever,
-                                         boolean enableQueryCompression) {
-        log.info("RAG 어드바이저 생성 시작 - 세션: {}, 질문 압축: {}", sessionId, enableQueryCompression);
-
-        // 로깅을 위해 DocumentRetriever를 래핑
-        LoggingDocumentRetriever loggingRetriever = new LoggingDocumentRetriever(documentRetriever);
-
-        if (enableQueryCompression) {
-            // 질문 압축 활성화: QueryTransformer 사용
-            // 세션 ID를 전달받는 커스텀 QueryTransformer 생성
-            // 이 transformer는 내부에서 ChatMemory를 조회하여 히스토리 기반 질문 압축 수행
-            SessionAwareQueryTransformer sessionAwareTransformer = new SessionAwareQueryTransformer(
-                compressionTransformer, sessionId);
-            log.info("질문 압축 활성화 - SessionAwareQueryTransformer 사용");
-
-            // QueryTransformer와 DocumentRetriever를 함께 사용
-            // 흐름: Query → QueryTransformer(히스토리 압축) → DocumentRetriever(벡터 검색)
-            RetrievalAugmentationAdvisor advisor = RetrievalAugmentationAdvisor.builder()
-                    .queryTransformers(sessionAwareTransformer)
-                    .documentRetriever(loggingRetriever)
-                    .build();
+    @Bean
+    public RetrievalAugmentationAdvisor ragAdvisor(EgovCompressionQueryTransformer compressionTransformer,
+                                                   VectorStoreDocumentRetriever vectorStoreDocumentRetriever,
+                                                   RedisVectorStore redisVectorStore,
+                                                   EgovCrossEncoderReranker reranker,
+                                                   EgovContextPacker contextPacker,
+                                                   @Qualifier("ragRetrievalExecutor") AsyncTaskExecutor ragRetrievalExecutor) {
+        log.info("RAG 어드바이저 빈 생성 - 질문 압축: {}, 투기적 검색: {}, 하이브리드 검색: {}, 재순위화: {}",
+                enableQueryCompression, speculativeRetrieval, hybridRetrieval, reranker.isEnabled());
+
+        // 재순위화를 사용하면 후보를 넓게 검색한 뒤 cross-encoder가 상위 N개를 선택
+        int retrievalTopK = reranker.isEnabled() ? reranker.getCandidateK() : topK;
+        // 검색 후 처리 순서: 재순위화 → 컨텍스트 패킹(중복 제거, 인접 병합, 토큰 예산)
+        List<DocumentPostProcessor> postProcessors = new ArrayList<>();
+        if (reranker.isEnabled()) {
+            postProcessors.add(reranker);
+        }
+        if (contextPacker.isEnabled()) {
+            postProcessors.add(contextPacker);
+        }
 
-            log.info("RAG 어드바이저 생성 완료 - 세션: {}, 압축 모드", sessionId);
-            return advisor;
+        DocumentRetriever documentRetriever;
+        if (hybridRetrieval) {
+            documentRetriever = new EgovHybridDocumentRetriever(redisVectorStore, vectorIndexName, vectorKeyPrefix, METADATA_FIELDS,
+                    similarityThreshold, Math.max(hybridCandidateK, retrievalTopK), retrievalTopK, rrfK, textScorer);
+        } else if (reranker.isEnabled()) {
+            documentRetriever = VectorStoreDocumentRetriever.builder()
+                    .similarityThreshold(similarityThreshold)
+                    .topK(retrievalTopK)
+                    .vectorStore(redisVectorStore)
+                    .build();
         } else {
-            // 질문 압축 비활성화: DocumentRetriever만 사용
-            log.info("질문 압축 비활성화 - 원본 질문으로 검색");
+            documentRetriever = vectorStoreDocumentRetriever;
+        }
 
-            // QueryTransformer 없이 DocumentRetriever만 사용
-            // 흐름: Query → DocumentRetriever(벡터 검색)
-            RetrievalAugmentationAdvisor advisor = RetrievalAugmentationAdvisor.builder()
-                    .documentRetriever(loggingRetriever)
-                    .build();
+        SessionAwareQueryTransformer sessionAwareTransformer =
+                new SessionAwareQueryTransformer(compressionTransformer, enableQueryCompression);
 
-            log.info("RAG 어드바이저 생성 완료 - 세션: {}, 비압축 모드", sessionId);
-            return advisor;
+        if (speculativeRetrieval) {
+            // 흐름: Query → [원본 질문 검색 ∥ 히스토리 압축 → 압축 질문 검색] → 결과 병합
+            // 검색 질문만 바꾸고 프롬프트에는 원본 질문을 사용하므로 QueryTransformer 없이 Retriever 내부에서 압축
+            return RetrievalAugmentationAdvisor.builder()
+                    .documentRetriever(new LoggingDocumentRetriever(new EgovSpeculativeDocumentRetriever(
+                            sessionAwareTransformer, documentRetriever, ragRetrievalExecutor, compressionBudget, retrievalTopK)))
+                    .documentPostProcessors(postProcessors)
+                    .build();
         }
-    }
 
-    /**
-     * QueryTransformer 없이 DocumentRetriever만 사용하는 RAG 어드바이저 생성
-     * 히스토리 압축은 이미 완료된 상태이므로 QueryTransformer 불필요
-     *
-     * @param documentRetriever Bean으로 생성된 DocumentRetriever
-     * @return RetrievalAugmentationAdvisor
-     */
-    public static Advisor createRagAdvisor(VectorStoreDocumentRetriever documentRetriever) {
-        
-        // QueryTransformer 없이 DocumentRetriever만 사용
-        RetrievalAugmentationAdvisor advisor = RetrievalAugmentationAdvisor.builder()
-                .documentRetriever(documentRetriever)
+        // 흐름: Query → QueryTransformer(독립 질문 적용 또는 히스토리 압축) → DocumentRetriever(벡터 검색)
+        return RetrievalAugmentationAdvisor.builder()
+                .queryTransformers(sessionAwareTransformer)
+                .documentRetriever(new LoggingDocumentRetriever(documentRetriever))
+                .documentPostProcessors(postProcessors)
                 .build();
-
-        return advisor;
     }
 
     /**
-     * 세션 ID를 직접 전달받는 커스텀 QueryTransformer
-     * ChatMemory에서 히스토리를 조회하여 CompressionQueryTransformer에 전달
+     * 어드바이저 컨텍스트에서 세션 ID를 읽어 히스토리 압축을 수행하는 QueryTransformer
+     * 컨텍스트에 독립 질문이 있으면 압축 없이 해당 질문으로 검색
      */
     private static class SessionAwareQueryTransformer implements QueryTransformer {
 
         private final EgovCompressionQueryTransformer compressionTransformer;
-        private final String sessionId;
+        private final boolean enableQueryCompression;
 
-        public SessionAwareQueryTransformer(EgovCompressionQueryTransformer compressionTransformer, String sessionId) {
+        public SessionAwareQueryTransformer(EgovCompressionQueryTransformer compressionTransformer,
+                                            boolean enableQueryCompression) {
             this.compressionTransformer = compressionTransformer;
-            this.sessionId = sessionId;
+            this.enableQueryCompression = enableQueryCompression;
         }
 
         @Override
         public Query transform(Query query) {
+            Object standaloneQuery = query.context().get(STANDALONE_QUERY_KEY);
+            if (standaloneQuery != null) {
+                log.info("미리 압축된 독립 질문으로 검색: '{}'", standaloneQuery);
+                return query.mutate().text(standaloneQuery.toString()).build();
+            }
+
+            if (!enableQueryCompression) {
+                log.info("질문 압축 비활성화 - 원본 질문으로 검색");
+                return query;
+            }
+
+            Object sessionId = query.context().get(ChatMemory.CONVERSATION_ID);
             log.info("SessionAwareQueryTransformer 시작 - 세션: {}, 원본 질문: '{}'", sessionId, query.text());
 
             // EgovCompressionQueryTransformer에 세션 ID 전달하여 압축 수행
             // 내부에서 ChatMemory 조회 → 히스토리 기반 질문 압축
-            Query compressedQuery = compressionTransformer.transformWithSessionId(query, sessionId);
+            Query compressedQuery = compressionTransformer.transformWithSessionId(query,
+                    sessionId != null ? sessionId.toString() : null);
 
             log.info("SessionAwareQueryTransformer 완료 - 압축된 질문: '{}'", compressedQuery.text());
 
@@ -4,9 +4,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.example.chat.repository.EgovChatMemoryNearCache;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -32,4 +36,19 @@ public class EgovRedisConfig {
         
         return template;
     }
+
+    /**
+     * 채팅 메모리 근거리 캐시 무효화 메시지 수신
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       EgovChatMemoryNearCache chatMemoryNearCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (chatMemoryNearCache.isEnabled()) {
+            container.addMessageListener(chatMemoryNearCache, new ChannelTopic(EgovChatMemoryNearCache.INVALIDATION_CHANNEL));
+            log.info("채팅 메모리 근거리 캐시 무효화 채널 구독: {}", EgovChatMemoryNearCache.INVALIDATION_CHANNEL);
+        }
+        return container;
+    }
 }
\ No newline at end of file
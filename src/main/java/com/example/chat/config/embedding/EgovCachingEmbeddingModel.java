@@ -0,0 +1,239 @@
+package com.example.chat.config.embedding;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.lang.NonNull;
+
+import com.example.chat.util.EgovDocumentHashUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 텍스트 내용 해시를 키로 임베딩 결과를 캐시하는 EmbeddingModel 래퍼
+ * - 1차: 프로세스 내 LRU 캐시
+ * - 2차: Redis 캐시 (float32 바이트 배열로 압축 저장, 선택 사항)
+ * 캐시에 없는 텍스트만 원본 모델로 임베딩하므로 반복되는 문구, 변경 없는 청크, 동일 질문의 임베딩 비용을 줄임
+ * 단일 텍스트 임베딩(벡터 검색 질문)은 정규화된 질문 기준 캐시를 먼저 거침
+ */
+@Slf4j
+public class EgovCachingEmbeddingModel implements EmbeddingModel {
+
+    private static final String REDIS_KEY_PREFIX = "embcache:";
+
+    private final EmbeddingModel delegate;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final Duration redisTtl;
+    private final String keyVersion;
+    private final Map<String, float[]> localCache;
+    private final EgovQueryEmbeddingCache queryEmbeddingCache;
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    /**
+     * @param delegate 실제 임베딩을 수행하는 모델
+     * @param redisTemplate Redis 캐시용 템플릿 (null이면 Redis 캐시 사용 안 함)
+     * @param redisTtl Redis 캐시 만료 시간
+     * @param keyVersion 캐시 키 버전 (임베딩 모델 변경 시 변경하여 기존 캐시 무효화)
+     * @param maxLocalEntries 프로세스 내 캐시 최대 항목 수
+     * @param queryEmbeddingCache 검색 질문 임베딩 캐시 (null이면 사용 안 함)
+     * @param meterRegistry 캐시 적중/실패 지표 등록용 레지스트리
+     */
+    public EgovCachingEmbeddingModel(EmbeddingModel delegate, RedisTemplate<String, byte[]> redisTemplate,
+                                     Duration redisTtl, String keyVersion, int maxLocalEntries,
+                                     EgovQueryEmbeddingCache queryEmbeddingCache, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.queryEmbeddingCache = queryEmbeddingCache;
+        this.redisTemplate = redisTemplate;
+        this.redisTtl = redisTtl;
+        this.keyVersion = keyVersion;
+        this.localCache = Collections.synchronizedMap(new LinkedHashMap<String, float[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                return size() > maxLocalEntries;
+            }
+        });
+
+        this.localHits = Counter.builder("embedding.cache.requests")
+                .tag("tier", "local").tag("result", "hit")
+                .description("임베딩 캐시 요청 수")
+                .register(meterRegistry);
+        this.redisHits = Counter.builder("embedding.cache.requests")
+                .tag("tier", "redis").tag("result", "hit")
+                .description("임베딩 캐시 요청 수")
+                .register(meterRegistry);
+        this.misses = Counter.builder("embedding.cache.requests")
+                .tag("tier", "model").tag("result", "miss")
+                .description("임베딩 캐시 요청 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("embedding.cache.size", localCache, Map::size);
+    }
+
+    @Override
+    @NonNull
+    public EmbeddingResponse call(@NonNull EmbeddingRequest request) {
+        List<String> texts = request.getInstructions();
+        List<String> cacheKeys = texts.stream().map(this::cacheKey).toList();
+        float[][] vectors = new float[texts.size()][];
+
+        // 1차: 프로세스 내 캐시 조회
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            float[] cached = localCache.get(cacheKeys.get(i));
+            if (cached != null) {
+                vectors[i] = cached;
+                localHits.increment();
+            } else {
+                pending.add(i);
+            }
+        }
+
+        // 2차: Redis 캐시 조회
+        if (redisTemplate != null && !pending.isEmpty()) {
+            pending = loadFromRedis(pending, cacheKeys, vectors);
+        }
+
+        // 캐시에 없는 텍스트만 원본 모델로 임베딩
+        if (!pending.isEmpty()) {
+            List<String> missedTexts = pending.stream().map(texts::get).toList();
+            EmbeddingResponse response = delegate.call(new EmbeddingRequest(missedTexts, request.getOptions()));
+            misses.increment(pending.size());
+
+            Map<String, float[]> computed = new LinkedHashMap<>();
+            for (int i = 0; i < pending.size(); i++) {
+                int index = pending.get(i);
+                float[] vector = response.getResults().get(i).getOutput();
+                vectors[index] = vector;
+                localCache.put(cacheKeys.get(index), vector);
+                computed.put(cacheKeys.get(index), vector);
+            }
+
+            if (redisTemplate != null) {
+                saveToRedis(computed);
+            }
+        }
+
+        log.debug("임베딩 요청 {}건 중 {}건 모델 호출 (캐시 적중 {}건)", texts.size(), pending.size(),
+                texts.size() - pending.size());
+
+        List<Embedding> embeddings = new ArrayList<>(texts.size());
+        for (int i = 0; i < vectors.length; i++) {
+            embeddings.add(new Embedding(vectors[i], i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    /**
+     * 단일 텍스트 임베딩 (RedisVectorStore 유사도 검색 시 질문 임베딩에 사용됨)
+     */
+    @Override
+    @NonNull
+    public float[] embed(@NonNull String text) {
+        if (queryEmbeddingCache == null) {
+            return embedWithoutQueryCache(text);
+        }
+        return queryEmbeddingCache.get(text, this::embedWithoutQueryCache);
+    }
+
+    @Override
+    @NonNull
+    public float[] embed(@NonNull Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    private float[] embedWithoutQueryCache(String text) {
+        return EmbeddingModel.super.embed(text);
+    }
+
+    /**
+     * Redis 캐시에서 한 번의 MGET으로 조회하고, 적중한 항목은 프로세스 내 캐시에도 저장
+     *
+     * @return 여전히 캐시에 없는 항목의 인덱스
+     */
+    private List<Integer> loadFromRedis(List<Integer> pending, List<String> cacheKeys, float[][] vectors) {
+        try {
+            List<String> redisKeys = pending.stream().map(i -> REDIS_KEY_PREFIX + cacheKeys.get(i)).toList();
+            List<byte[]> values = redisTemplate.opsForValue().multiGet(redisKeys);
+
+            List<Integer> remaining = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                int index = pending.get(i);
+                byte[] value = values != null ? values.get(i) : null;
+                if (value != null) {
+                    vectors[index] = decode(value);
+                    localCache.put(cacheKeys.get(index), vectors[index]);
+                    redisHits.increment();
+                } else {
+                    remaining.add(index);
+                }
+            }
+            return remaining;
+        } catch (Exception e) {
+            // 캐시 오류는 임베딩 자체를 실패시키지 않도록 모델 호출로 대체
+            log.warn("Redis 임베딩 캐시 조회 실패 - 모델로 임베딩: {}", e.getMessage());
+            return pending;
+        }
+    }
+
+    /**
+     * 새로 계산한 임베딩을 파이프라인으로 Redis에 저장 (만료 시간 포함)
+     */
+    private void saveToRedis(Map<String, float[]> computed) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                computed.forEach((cacheKey, vector) -> connection.stringCommands().set(
+                        (REDIS_KEY_PREFIX + cacheKey).getBytes(StandardCharsets.UTF_8),
+                        encode(vector),
+                        Expiration.from(redisTtl),
+                        SetOption.upsert()));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Redis 임베딩 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private String cacheKey(String text) {
+        return keyVersion + ":" + EgovDocumentHashUtil.calculateHash(text);
+    }
+
+    /**
+     * float 벡터를 little-endian float32 바이트 배열로 변환 (JSON 대비 약 1/3 크기)
+     */
+    private static byte[] encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    private static float[] decode(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+}
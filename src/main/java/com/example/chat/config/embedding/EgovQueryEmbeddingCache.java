@@ -0,0 +1,107 @@
+package com.example.chat.config.embedding;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 검색 질문 임베딩 캐시
+ * 공백만 정리한 질문 텍스트를 키로 같은 텍스트의 임베딩 벡터를 보관하며,
+ * 대소문자는 임베딩 결과에 영향을 주므로 구분함 ("API 설정"과 "api 설정"은 별도 항목)
+ * 최대 항목 수를 넘으면 가장 오래 사용되지 않은 항목부터, 만료 시간이 지나면 조회 시점에 제거함
+ */
+@Slf4j
+public class EgovQueryEmbeddingCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, CachedEmbedding> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expirations;
+
+    public EgovQueryEmbeddingCache(int maxEntries, Duration ttl, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.cache = new LinkedHashMap<String, CachedEmbedding>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedEmbedding> eldest) {
+                return size() > EgovQueryEmbeddingCache.this.maxEntries;
+            }
+        };
+
+        this.hits = Counter.builder("rag.query.embedding.cache")
+                .tag("result", "hit")
+                .description("검색 질문 임베딩 캐시 요청 수")
+                .register(meterRegistry);
+        this.misses = Counter.builder("rag.query.embedding.cache")
+                .tag("result", "miss")
+                .description("검색 질문 임베딩 캐시 요청 수")
+                .register(meterRegistry);
+        this.expirations = Counter.builder("rag.query.embedding.cache.expired")
+                .description("만료되어 제거된 검색 질문 임베딩 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("rag.query.embedding.cache.size", this, EgovQueryEmbeddingCache::size);
+    }
+
+    /**
+     * 공백을 정리한 질문을 키로 임베딩을 캐시에서 조회하고, 없으면 같은 텍스트를 임베딩하여 저장
+     * 키와 임베딩 대상이 같으므로 요청 순서와 관계없이 같은 키에는 항상 같은 벡터가 저장됨
+     *
+     * @param query 검색 질문
+     * @param embedder 공백을 정리한 질문을 임베딩하는 함수
+     * @return 임베딩 벡터
+     */
+    public float[] get(String query, Function<String, float[]> embedder) {
+        String normalizedQuery = normalize(query);
+        long now = System.currentTimeMillis();
+
+        synchronized (cache) {
+            CachedEmbedding cached = cache.get(normalizedQuery);
+            if (cached != null) {
+                if (cached.expiresAt() > now) {
+                    hits.increment();
+                    log.debug("질문 임베딩 캐시 적중: '{}'", normalizedQuery);
+                    return cached.vector();
+                }
+                cache.remove(normalizedQuery);
+                expirations.increment();
+            }
+        }
+
+        // 임베딩 계산은 잠금 밖에서 수행 (동일 질문이 동시에 들어오면 중복 계산될 수 있으나 결과는 같음)
+        misses.increment();
+        float[] vector = embedder.apply(normalizedQuery);
+
+        synchronized (cache) {
+            cache.put(normalizedQuery, new CachedEmbedding(vector, now + ttlMillis));
+        }
+        return vector;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * 질문 텍스트 정규화 (앞뒤 공백 제거, 연속 공백 축약)
+     * 대소문자는 임베딩 결과를 바꾸므로 유지
+     */
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        return query.trim().replaceAll("\\s+", " ");
+    }
+
+    private record CachedEmbedding(float[] vector, long expiresAt) {
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.chat.config.etl;
 
+import java.util.concurrent.Executor;
+
 import org.springframework.ai.ollama.OllamaChatModel;
 import org.springframework.ai.vectorstore.redis.RedisVectorStore;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -42,8 +45,9 @@ public class EgovETLPipelineConfig {
     }
 
     @Bean
-    public EgovVectorStoreWriter vectorStoreWriter(RedisVectorStore redisVectorStore) {
+    public EgovVectorStoreWriter vectorStoreWriter(RedisVectorStore redisVectorStore,
+            @Qualifier("vectorStoreWriteExecutor") Executor vectorStoreWriteExecutor) {
         log.info("VectorStore DocumentWriter 빈 생성");
-        return new EgovVectorStoreWriter(redisVectorStore);
+        return new EgovVectorStoreWriter(redisVectorStore, vectorStoreWriteExecutor);
     }
 } 
\ No newline at end of file
@@ -6,14 +6,12 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.ai.document.Document;
-import org.springframework.ai.document.DocumentReader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Component;
@@ -21,14 +19,21 @@ import org.springframework.core.io.Resource;
 
 @Slf4j
 @Component
-public class EgovMarkdownReader implements DocumentReader {
+public class EgovMarkdownReader implements EgovStreamingDocumentReader {
 
     @Value("${spring.ai.document.path}")
     private String documentPath;
 
     @Override
-    public List<Document> get() {
-        List<Document> documents = new ArrayList<>();
+    public String getLocationPattern() {
+        return documentPath;
+    }
+
+    /**
+     * 설정된 경로에서 마크다운 리소스 목록만 조회 (내용은 읽지 않음)
+     */
+    @Override
+    public Resource[] getResources() {
         PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
         
         try {
@@ -36,25 +41,32 @@ public class EgovMarkdownReader implements DocumentReader {
             
             if (resources.length == 0) {
                 log.warn("마크다운 파일을 찾을 수 없습니다: {}", documentPath);
-                return List.of();
+                return new Resource[0];
             }
             
             log.info("{}개의 마크다운 파일을 찾았습니다.", resources.length);
-            
-            for (Resource resource : resources) {
-                Document doc = processMarkdownResource(resource);
-                if (doc != null) {
-                    documents.add(doc);
-                }
-            }
+            return resources;
         } catch (IOException e) {
             log.error("마크다운 문서 로드 중 오류 발생", e);
-            // 파일이 없는 경우도 있을 수 있으므로 예외를 발생시키지 않고 빈 리스트 반환
+            // 파일이 없는 경우도 있을 수 있으므로 예외를 발생시키지 않고 빈 배열 반환
             log.warn("마크다운 파일을 찾을 수 없거나 접근할 수 없습니다: {}", documentPath);
+            return new Resource[0];
+        }
+    }
+
+    /**
+     * 단일 마크다운 리소스를 읽어 문서로 변환
+     * 개별 파일 오류는 로깅 후 빈 리스트 반환
+     */
+    @Override
+    public List<Document> read(Resource resource) {
+        try {
+            Document doc = processMarkdownResource(resource);
+            return doc != null ? List.of(doc) : List.of();
+        } catch (IOException e) {
+            log.error("마크다운 파일 '{}' 처리 중 오류 발생: {}", resource.getFilename(), e.getMessage());
             return List.of();
         }
-        
-        return documents;
     }
 
     private Document processMarkdownResource(Resource resource) throws IOException {
@@ -71,14 +83,27 @@ public class EgovMarkdownReader implements DocumentReader {
         }
         
         Map<String, Object> metadata = createEnhancedMetadata(filename, content);
-        String docId = "doc-" + filename
-                .replaceAll("[\\/:*?\"<>|]", "")
-                .replaceAll("\\s+", "-");
+        String docId = documentId(filename);
         
         log.info("마크다운 문서 로드 완료: {}, 크기: {}바이트", filename, content.length());
         return new Document(docId, content, metadata);
     }
 
+    /**
+     * 마크다운 문서 ID는 파일명으로 정해지므로 읽기 전에 알 수 있음 (파일당 문서 1개)
+     */
+    @Override
+    public List<String> documentIdsOf(Resource resource) {
+        String filename = resource.getFilename();
+        return filename != null ? List.of(documentId(filename)) : List.of();
+    }
+
+    private static String documentId(String filename) {
+        return "doc-" + filename
+                .replaceAll("[\\/:*?\"<>|]", "")
+                .replaceAll("\\s+", "-");
+    }
+
     private Map<String, Object> createEnhancedMetadata(String filename, String content) {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("source", filename);
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.ai.document.Document;
-import org.springframework.ai.document.DocumentReader;
 import org.springframework.ai.reader.pdf.PagePdfDocumentReader;
 import org.springframework.ai.reader.pdf.config.PdfDocumentReaderConfig;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,7 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
-public class EgovPdfReader implements DocumentReader {
+public class EgovPdfReader implements EgovStreamingDocumentReader {
 
     @Value("${spring.ai.document.pdf-path}")
     private String pdfDocumentPath;
@@ -28,7 +27,15 @@ public class EgovPdfReader implements DocumentReader {
     private int pagesPerDocument;
 
     @Override
-    public List<Document> get() {
+    public String getLocationPattern() {
+        return pdfDocumentPath;
+    }
+
+    /**
+     * 설정된 경로에서 PDF 리소스 목록만 조회 (내용은 읽지 않음)
+     */
+    @Override
+    public Resource[] getResources() {
         log.info("PDF 문서 읽기 시작 - 경로: {}", pdfDocumentPath);
         log.info("PDF 설정 - 페이지 상단 여백: {}, 페이지당 문서: {}", 
             pageTopMargin, pagesPerDocument);
@@ -39,57 +46,59 @@ public class EgovPdfReader implements DocumentReader {
             
             if (resources.length == 0) {
                 log.warn("PDF 파일을 찾을 수 없습니다: {}", pdfDocumentPath);
-                return List.of();
+                return new Resource[0];
             }
             
             log.info("{}개의 PDF 파일을 찾았습니다.", resources.length);
+            return resources;
+            
+        } catch (Exception e) {
+            log.error("PDF 문서 읽기 중 오류 발생", e);
+            return new Resource[0];
+        }
+    }
+
+    /**
+     * 단일 PDF 리소스를 페이지 단위 문서로 변환
+     * 개별 파일 오류는 로깅 후 빈 리스트 반환
+     */
+    @Override
+    public List<Document> read(Resource resource) {
+        log.info("PDF 파일 처리 중: {}", resource.getFilename());
+        
+        try {
+            // Spring AI의 PagePdfDocumentReader 사용
+            PagePdfDocumentReader pdfReader = new PagePdfDocumentReader(
+                resource,
+                PdfDocumentReaderConfig.builder()
+                    .withPageTopMargin(pageTopMargin)
+                    .withPagesPerDocument(pagesPerDocument)
+                    .build()
+            );
+            
+            List<Document> documents = pdfReader.read();
+            log.info("PDF 파일 '{}'에서 {}개의 문서를 읽었습니다.", 
+                resource.getFilename(), documents.size());
             
-            List<Document> allDocuments = new ArrayList<>();
-            
-            for (Resource resource : resources) {
-                log.info("PDF 파일 처리 중: {}", resource.getFilename());
-                
-                try {
-                    // Spring AI의 PagePdfDocumentReader 사용
-                    PagePdfDocumentReader pdfReader = new PagePdfDocumentReader(
-                        resource,
-                        PdfDocumentReaderConfig.builder()
-                            .withPageTopMargin(pageTopMargin)
-                            .withPagesPerDocument(pagesPerDocument)
-                            .build()
-                    );
-                    
-                    List<Document> documents = pdfReader.read();
-                    log.info("PDF 파일 '{}'에서 {}개의 문서를 읽었습니다.", 
-                        resource.getFilename(), documents.size());
-                    
-                    // 각 문서의 내용 길이와 메타데이터 로깅
-                    for (int i = 0; i < documents.size(); i++) {
-                        Document doc = documents.get(i);
-                        log.debug("PDF 문서 {}: ID={}, 길이={}, 메타데이터={}", 
-                            i + 1, doc.getId(), doc.getText().length(), doc.getMetadata());
-                    }
-                    
-                    // Document ID를 파일명과 페이지 기반으로 재생성
-                    List<Document> documentsWithCustomIds = createDocumentsWithCustomIds(
-                        documents, resource.getFilename());
-                    
-                    log.info("PDF 파일 '{}'에서 {}개의 문서를 커스텀 ID로 변환했습니다.", 
-                        resource.getFilename(), documentsWithCustomIds.size());
-                    
-                    allDocuments.addAll(documentsWithCustomIds);
-                    
-                } catch (Exception e) {
-                    log.error("PDF 파일 '{}' 처리 중 오류 발생: {}", resource.getFilename(), e.getMessage());
-                    // 개별 파일 오류는 무시하고 계속 진행
-                }
+            // 각 문서의 내용 길이와 메타데이터 로깅
+            for (int i = 0; i < documents.size(); i++) {
+                Document doc = documents.get(i);
+                log.debug("PDF 문서 {}: ID={}, 길이={}, 메타데이터={}", 
+                    i + 1, doc.getId(), doc.getText().length(), doc.getMetadata());
             }
             
-            log.info("총 {}개의 PDF 문서를 읽었습니다.", allDocuments.size());
-            return allDocuments;
+            // Document ID를 파일명과 페이지 기반으로 재생성
+            List<Document> documentsWithCustomIds = createDocumentsWithCustomIds(
+                documents, resource.getFilename());
+            
+            log.info("PDF 파일 '{}'에서 {}개의 문서를 커스텀 ID로 변환했습니다.", 
+                resource.getFilename(), documentsWithCustomIds.size());
+            
+            return documentsWithCustomIds;
             
         } catch (Exception e) {
-            log.error("PDF 문서 읽기 중 오류 발생", e);
+            log.error("PDF 파일 '{}' 처리 중 오류 발생: {}", resource.getFilename(), e.getMessage());
+            // 개별 파일 오류는 무시하고 계속 진행
             return List.of();
         }
     }
@@ -0,0 +1,67 @@
+package com.example.chat.config.etl.readers;
+
+import java.io.IOException;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.AntPathMatcher;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 리소스 경로(URL)가 위치 패턴(spring.ai.document.path 등)에 속하는지 판단
+ * 패턴의 와일드카드 앞부분을 루트 디렉터리로 해석하여 URL 접두어를 비교하고, 나머지는 Ant 패턴으로 비교함
+ */
+@Slf4j
+final class EgovResourceLocationMatcher {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private EgovResourceLocationMatcher() {
+    }
+
+    /**
+     * @return 패턴에 속하면 true (루트를 확인할 수 없으면 false)
+     */
+    static boolean matches(String locationPattern, String path) {
+        int wildcardIndex = indexOfWildcard(locationPattern);
+        String rootDir = wildcardIndex < 0
+                ? locationPattern
+                : locationPattern.substring(0, locationPattern.lastIndexOf('/', wildcardIndex) + 1);
+        String subPattern = locationPattern.substring(rootDir.length());
+
+        String rootUrl = rootUrlOf(rootDir);
+        if (rootUrl == null || !path.startsWith(rootUrl)) {
+            return false;
+        }
+        String subPath = path.substring(rootUrl.length());
+        return subPattern.isEmpty() ? subPath.isEmpty() : PATH_MATCHER.match(subPattern, subPath);
+    }
+
+    /**
+     * 검색된 리소스 경로와 같은 형식의 루트 URL
+     * (파일 시스템 리소스는 File.toURI 형식으로 반환되므로 루트도 같은 방식으로 변환)
+     */
+    private static String rootUrlOf(String rootDir) {
+        try {
+            Resource root = new PathMatchingResourcePatternResolver().getResource(rootDir);
+            String rootUrl = root.isFile() ? root.getFile().toURI().toURL().toString() : root.getURL().toString();
+            // 존재하지 않는 디렉터리는 끝에 '/'가 붙지 않으므로 패턴과 맞춤
+            return rootDir.endsWith("/") && !rootUrl.endsWith("/") ? rootUrl + "/" : rootUrl;
+        } catch (IOException e) {
+            log.warn("리소스 루트 경로 확인 실패: {}", rootDir);
+            return null;
+        }
+    }
+
+    private static int indexOfWildcard(String locationPattern) {
+        int prefixEnd = locationPattern.indexOf(':') + 1;
+        for (int i = prefixEnd; i < locationPattern.length(); i++) {
+            char c = locationPattern.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.chat.config.etl.readers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentReader;
+import org.springframework.core.io.Resource;
+
+/**
+ * 리소스 단위로 문서를 읽는 DocumentReader 확장 인터페이스
+ * get()은 모든 리소스를 한 번에 메모리에 적재하지만,
+ * stream()은 리소스를 하나씩 읽어 문서를 지연 생성하므로 대용량 디렉터리에서도 메모리 사용량이 일정함
+ */
+public interface EgovStreamingDocumentReader extends DocumentReader {
+
+    /**
+     * 설정된 경로에서 읽을 리소스 목록 조회 (내용은 읽지 않음)
+     *
+     * @return 리소스 목록 (없으면 빈 배열)
+     */
+    Resource[] getResources();
+
+    /**
+     * 설정된 리소스 위치 패턴
+     */
+    String getLocationPattern();
+
+    /**
+     * 이 리더가 담당하는 위치의 리소스 경로인지 확인
+     * 이전 인덱싱에 있던 파일이 삭제되었는지 판단할 때 다른 리더의 파일을 건드리지 않도록 사용
+     *
+     * @param path 리소스 URL 경로
+     */
+    default boolean isManagedPath(String path) {
+        return EgovResourceLocationMatcher.matches(getLocationPattern(), path);
+    }
+
+    /**
+     * 리소스를 읽지 않고 알 수 있는 문서 ID 목록
+     * 여러 파일의 문서 해시를 한 번에 미리 조회하는 데 사용 (페이지 수처럼 읽어야 알 수 있으면 빈 목록)
+     *
+     * @param resource 읽을 리소스
+     * @return 리소스에서 생성될 문서 ID 목록
+     */
+    default List<String> documentIdsOf(Resource resource) {
+        return List.of();
+    }
+
+    /**
+     * 단일 리소스를 읽어 문서로 변환
+     *
+     * @param resource 읽을 리소스
+     * @return 변환된 문서 목록 (오류 시 빈 리스트)
+     */
+    List<Document> read(Resource resource);
+
+    /**
+     * 리소스를 하나씩 읽어 문서를 지연 반환하는 스트림
+     * 스트림을 소비하는 시점에 다음 리소스를 읽음
+     *
+     * @return 문서 스트림
+     */
+    default Stream<Document> stream() {
+        return Arrays.stream(getResources())
+                .flatMap(resource -> read(resource).stream());
+    }
+
+    @Override
+    default List<Document> get() {
+        return stream().toList();
+    }
+}
@@ -1,12 +1,24 @@
 package com.example.chat.config.etl.writers;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.document.DocumentWriter;
 import org.springframework.ai.vectorstore.redis.RedisVectorStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.example.chat.config.rag.vectorstore.EgovRedisVectorStore;
+import com.example.chat.util.EgovTokenEstimatorUtil;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,30 +27,156 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class EgovVectorStoreWriter implements DocumentWriter {
 
+    // 원본 문서 안에서의 청크 순서 메타데이터 (인접 청크 병합에 사용)
+    public static final String CHUNK_INDEX_KEY = "chunk_index";
+
     private final RedisVectorStore redisVectorStore;
 
+    // 배치 단위 임베딩/저장 실행기
+    @Qualifier("vectorStoreWriteExecutor")
+    private final Executor vectorStoreWriteExecutor;
+
+    // 배치당 최대 청크 수
+    @Value("${spring.ai.document.writer.batch-size:64}")
+    private int batchSize;
+
+    // 배치당 최대 추정 토큰 수
+    @Value("${spring.ai.document.writer.batch-token-budget:16000}")
+    private int batchTokenBudget;
+
+    // 동시에 진행할 최대 배치 수 (앞 배치의 Redis 저장과 다음 배치의 임베딩이 겹쳐서 진행됨)
+    @Value("${spring.ai.document.writer.max-in-flight-batches:2}")
+    private int maxInFlightBatches;
+
     @Override
     public void accept(List<Document> documents) {
         log.info("벡터 저장소에 {}개 문서 저장 시작", documents.size());
-        
+
         if (documents.isEmpty()) {
             log.warn("저장할 문서가 없습니다.");
             return;
         }
-        
+
         // 문서 정보 로깅
         for (int i = 0; i < Math.min(documents.size(), 3); i++) {
             Document doc = documents.get(i);
-            log.debug("문서 {}: ID={}, 크기={}바이트, 메타데이터={}", 
+            log.debug("문서 {}: ID={}, 크기={}바이트, 메타데이터={}",
                     i, doc.getId(), doc.getText().length(), doc.getMetadata());
         }
-        
+
+        List<List<Document>> batches = createBatches(documents);
+        log.info("{}개 문서를 {}개 배치로 저장 (배치 크기: {}, 토큰 예산: {}, 동시 배치: {})",
+                documents.size(), batches.size(), batchSize, batchTokenBudget, maxInFlightBatches);
+
+        // 동시에 진행 중인 배치 수를 제한하여 메모리 사용량을 일정하게 유지
+        Deque<CompletableFuture<Void>> inFlightBatches = new ArrayDeque<>();
+        long startTime = System.currentTimeMillis();
+
+        try {
+            for (int i = 0; i < batches.size(); i++) {
+                if (inFlightBatches.size() >= maxInFlightBatches) {
+                    inFlightBatches.removeFirst().join();
+                }
+
+                List<Document> batch = batches.get(i);
+                int batchNumber = i + 1;
+                inFlightBatches.addLast(CompletableFuture.runAsync(
+                        () -> writeBatch(batch, batchNumber, batches.size()), vectorStoreWriteExecutor));
+            }
+
+            while (!inFlightBatches.isEmpty()) {
+                inFlightBatches.removeFirst().join();
+            }
+
+            log.info("벡터 저장소에 {}개 문서 저장 완료 ({}ms)", documents.size(), System.currentTimeMillis() - startTime);
+        } catch (CompletionException e) {
+            // 이미 완료된 배치는 저장된 상태로 유지됨 (부분 저장)
+            log.error("벡터 저장소 저장 중 오류 발생", e.getCause());
+            throw new RuntimeException("벡터 저장소 저장 중 오류 발생", e.getCause());
+        }
+    }
+
+    /**
+     * 더 이상 원본에 존재하지 않는 청크를 벡터 저장소에서 삭제
+     */
+    public void delete(List<String> chunkIds) {
+        if (chunkIds.isEmpty()) {
+            return;
+        }
+
         try {
-            redisVectorStore.add(documents);
-            log.info("벡터 저장소에 {}개 문서 저장 완료", documents.size());
+            redisVectorStore.delete(chunkIds);
+            log.info("벡터 저장소에서 오래된 청크 {}개 삭제 완료", chunkIds.size());
         } catch (Exception e) {
-            log.error("벡터 저장소 저장 중 오류 발생", e);
-            throw new RuntimeException("벡터 저장소 저장 중 오류 발생", e);
+            log.error("벡터 저장소 청크 삭제 중 오류 발생", e);
+            throw new RuntimeException("벡터 저장소 청크 삭제 중 오류 발생", e);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 다시 저장하지 않은(내용이 같은) 청크의 원본 문서 내 순서 갱신
+     * 앞부분에 청크가 추가/삭제되면 뒤 청크의 순서가 바뀌므로 임베딩 없이 메타데이터만 갱신
+     */
+    public void updateChunkIndexes(Map<String, Integer> chunkIndexById) {
+        if (chunkIndexById.isEmpty() || !(redisVectorStore instanceof EgovRedisVectorStore vectorStore)) {
+            return;
+        }
+
+        try {
+            vectorStore.updateMetadata(CHUNK_INDEX_KEY, chunkIndexById);
+            log.debug("기존 청크 {}개의 순서 갱신", chunkIndexById.size());
+        } catch (Exception e) {
+            log.error("청크 순서 갱신 중 오류 발생", e);
+            throw new RuntimeException("청크 순서 갱신 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * 단일 배치 임베딩 및 저장 후 처리량 로깅
+     */
+    private void writeBatch(List<Document> batch, int batchNumber, int totalBatches) {
+        long batchStartTime = System.currentTimeMillis();
+
+        redisVectorStore.add(batch);
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - batchStartTime);
+        log.info("배치 {}/{} 저장 완료: {}개 청크, 추정 토큰 {}개, {}ms ({} 청크/초)",
+                batchNumber, totalBatches, batch.size(), estimateTokens(batch), elapsed,
+                String.format("%.1f", batch.size() * 1000.0 / elapsed));
+    }
+
+    /**
+     * 청크 수와 추정 토큰 수 기준으로 배치 분할
+     * 단일 청크가 토큰 예산을 넘더라도 하나의 배치로 처리
+     */
+    private List<List<Document>> createBatches(List<Document> documents) {
+        List<List<Document>> batches = new ArrayList<>();
+        List<Document> currentBatch = new ArrayList<>();
+        int currentTokens = 0;
+
+        for (Document document : documents) {
+            int tokens = estimateTokens(document);
+            if (!currentBatch.isEmpty()
+                    && (currentBatch.size() >= batchSize || currentTokens + tokens > batchTokenBudget)) {
+                batches.add(currentBatch);
+                currentBatch = new ArrayList<>();
+                currentTokens = 0;
+            }
+            currentBatch.add(document);
+            currentTokens += tokens;
+        }
+
+        if (!currentBatch.isEmpty()) {
+            batches.add(currentBatch);
+        }
+        return batches;
+    }
+
+    private int estimateTokens(List<Document> documents) {
+        return documents.stream().mapToInt(this::estimateTokens).sum();
+    }
+
+    private int estimateTokens(Document document) {
+        return EgovTokenEstimatorUtil.estimateTokens(document.getText());
+    }
+}
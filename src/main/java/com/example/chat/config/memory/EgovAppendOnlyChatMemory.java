@@ -0,0 +1,42 @@
+package com.example.chat.config.memory;
+
+import java.util.List;
+
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.Message;
+
+import com.example.chat.repository.EgovRedisChatMemoryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis List 기반 추가 전용 ChatMemory
+ * MessageWindowChatMemory는 턴마다 대화 전체를 읽고 다시 저장하지만,
+ * 이 구현은 새 메시지만 RPUSH하고 LTRIM으로 윈도우를 유지하며 조회 시 최근 N개만 LRANGE로 읽음
+ */
+@Slf4j
+public class EgovAppendOnlyChatMemory implements ChatMemory {
+
+    private final EgovRedisChatMemoryRepository chatMemoryRepository;
+    private final int maxMessages;
+
+    public EgovAppendOnlyChatMemory(EgovRedisChatMemoryRepository chatMemoryRepository, int maxMessages) {
+        this.chatMemoryRepository = chatMemoryRepository;
+        this.maxMessages = maxMessages;
+    }
+
+    @Override
+    public void add(String conversationId, List<Message> messages) {
+        chatMemoryRepository.appendAll(conversationId, messages, maxMessages);
+    }
+
+    @Override
+    public List<Message> get(String conversationId) {
+        return chatMemoryRepository.findLastMessages(conversationId, maxMessages);
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        chatMemoryRepository.deleteByConversationId(conversationId);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.chat.config.rag.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.redis.RedisVectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RAG 응답 의미 캐시
+ * 독립 질문(압축된 질문)의 임베딩을 별도 Redis 벡터 인덱스에 저장하고,
+ * 새 질문과의 유사도가 임계값 이상이면 저장된 답변을 재사용함
+ * 답변 생성에 사용된 청크가 재인덱싱되거나 삭제되면 해당 답변은 자동으로 무효화됨
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EgovSemanticAnswerCache {
+
+    private static final String INDEX_NAME = "answer-cache-index";
+    private static final String VECTOR_KEY_PREFIX = "answercache:vec:";
+    private static final String ENTRY_KEY_PREFIX = "answercache:entry:";
+    private static final String CHUNK_KEY_PREFIX = "answercache:chunk:";
+    private static final String FIELD_QUERY = "query";
+    private static final String FIELD_ANSWER = "answer";
+    private static final String FIELD_CHUNKS = "chunks";
+    // 만료된 답변의 질문 벡터가 남아 있을 때 다음 후보를 확인하기 위한 조회 수
+    private static final int SEARCH_CANDIDATES = 3;
+
+    private final RedisVectorStore redisVectorStore;
+    private final EmbeddingModel embeddingModel;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${rag.semantic-cache.enabled:false}")
+    private boolean enabled;
+
+    // 캐시된 질문과의 최소 유사도 (0.0 ~ 1.0)
+    @Value("${rag.semantic-cache.similarity-threshold:0.92}")
+    private double similarityThreshold;
+
+    @Value("${rag.semantic-cache.ttl:1d}")
+    private Duration ttl;
+
+    // 질문 임베딩 전용 벡터 인덱스 (문서 인덱스와 분리)
+    private RedisVectorStore answerVectorStore;
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            log.info("RAG 응답 의미 캐시 비활성화");
+            return;
+        }
+
+        // 문서 검색용 RedisVectorStore 빈과 구분되도록 빈으로 등록하지 않고 내부에서 직접 생성
+        answerVectorStore = RedisVectorStore.builder(redisVectorStore.getJedis(), embeddingModel)
+                .indexName(INDEX_NAME)
+                .prefix(VECTOR_KEY_PREFIX)
+                .initializeSchema(true)
+                .build();
+        answerVectorStore.afterPropertiesSet();
+        log.info("RAG 응답 의미 캐시 활성화 - 유사도 임계값: {}, TTL: {}", similarityThreshold, ttl);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 유사한 질문에 대해 저장된 답변 조회
+     *
+     * @param standaloneQuery 독립 질문 (히스토리 압축 후 질문)
+     * @return 캐시된 답변 (없거나 만료되었으면 빈 값)
+     */
+    public Optional<String> find(String standaloneQuery) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        try {
+            List<Document> matches = answerVectorStore.similaritySearch(SearchRequest.builder()
+                    .query(standaloneQuery)
+                    .topK(SEARCH_CANDIDATES)
+                    .similarityThreshold(similarityThreshold)
+                    .build());
+
+            if (matches == null || matches.isEmpty()) {
+                log.debug("의미 캐시 미적중: '{}'", standaloneQuery);
+                return Optional.empty();
+            }
+
+            List<String> staleIds = new ArrayList<>();
+            try {
+                for (Document match : matches) {
+                    Object answer = stringRedisTemplate.opsForHash().get(ENTRY_KEY_PREFIX + match.getId(), FIELD_ANSWER);
+                    if (answer == null) {
+                        // 답변이 만료되었거나 무효화되었으면 미적중으로 처리하고 남은 질문 벡터 정리
+                        staleIds.add(match.getId());
+                        continue;
+                    }
+
+                    log.info("의미 캐시 적중 - 질문: '{}', 캐시된 질문: '{}', 유사도: {}",
+                            standaloneQuery, match.getText(), match.getScore());
+                    return Optional.of(answer.toString());
+                }
+            } finally {
+                if (!staleIds.isEmpty()) {
+                    answerVectorStore.delete(staleIds);
+                    log.debug("만료된 의미 캐시 질문 벡터 {}개 삭제", staleIds.size());
+                }
+            }
+
+            log.debug("의미 캐시 미적중 (만료된 후보만 존재): '{}'", standaloneQuery);
+            return Optional.empty();
+        } catch (Exception e) {
+            log.warn("의미 캐시 조회 실패 - 일반 RAG 처리: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 답변 저장 (답변 생성에 사용된 청크가 없으면 무효화할 수 없으므로 저장하지 않음)
+     *
+     * @param standaloneQuery 독립 질문
+     * @param answer 생성된 답변
+     * @param chunkIds 답변 생성에 사용된 청크 ID
+     */
+    public void save(String standaloneQuery, String answer, Collection<String> chunkIds) {
+        if (!enabled || answer == null || answer.isBlank() || chunkIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            String entryId = UUID.randomUUID().toString();
+            String entryKey = ENTRY_KEY_PREFIX + entryId;
+
+            Map<String, String> entry = new HashMap<>();
+            entry.put(FIELD_QUERY, standaloneQuery);
+            entry.put(FIELD_ANSWER, answer);
+            entry.put(FIELD_CHUNKS, String.join(",", chunkIds));
+            stringRedisTemplate.opsForHash().putAll(entryKey, entry);
+            stringRedisTemplate.expire(entryKey, ttl);
+
+            // 청크별 답변 목록도 같은 TTL로 갱신하여 참조가 끊긴 목록이 남지 않도록 함
+            for (String chunkId : chunkIds) {
+                String chunkKey = CHUNK_KEY_PREFIX + chunkId;
+                stringRedisTemplate.opsForSet().add(chunkKey, entryId);
+                stringRedisTemplate.expire(chunkKey, ttl);
+            }
+
+            // 질문 벡터 문서도 답변과 함께 만료되도록 TTL 지정
+            answerVectorStore.add(List.of(new Document(entryId, standaloneQuery, Map.of())));
+            stringRedisTemplate.expire(VECTOR_KEY_PREFIX + entryId, ttl);
+            log.debug("의미 캐시 저장 - 질문: '{}', 참조 청크: {}개", standaloneQuery, chunkIds.size());
+        } catch (Exception e) {
+            log.warn("의미 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 재인덱싱되거나 삭제된 청크를 참조하는 캐시 답변 무효화
+     *
+     * @param chunkIds 변경된 청크 ID
+     */
+    public void invalidateByChunkIds(Collection<String> chunkIds) {
+        if (!enabled || chunkIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            Set<String> entryIds = new HashSet<>();
+            List<String> chunkKeys = new ArrayList<>();
+            for (String chunkId : chunkIds) {
+                String chunkKey = CHUNK_KEY_PREFIX + chunkId;
+                Set<String> members = stringRedisTemplate.opsForSet().members(chunkKey);
+                if (members != null) {
+                    entryIds.addAll(members);
+                }
+                chunkKeys.add(chunkKey);
+            }
+            stringRedisTemplate.delete(chunkKeys);
+
+            if (entryIds.isEmpty()) {
+                return;
+            }
+
+            stringRedisTemplate.delete(entryIds.stream().map(id -> ENTRY_KEY_PREFIX + id).toList());
+            answerVectorStore.delete(new ArrayList<>(entryIds));
+            log.info("재인덱싱된 문서를 참조하는 의미 캐시 답변 {}개 무효화", entryIds.size());
+        } catch (Exception e) {
+            log.warn("의미 캐시 무효화 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.chat.config.rag.postprocessors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.rag.Query;
+import org.springframework.ai.rag.postretrieval.document.DocumentPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.chat.util.EgovTokenEstimatorUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 프롬프트에 넣기 전 검색 결과를 정리하는 컨텍스트 패킹 단계
+ * 1. 거의 같은 청크 제거 (단어 3-gram Jaccard 유사도)
+ * 2. 같은 원본 문서에서 순서가 연속된 청크 병합
+ * 3. 관련도 순서대로 토큰 예산 안에서만 포함
+ * 프롬프트 크기(Ollama prefill 시간)가 예산으로 제한됨
+ */
+@Slf4j
+@Component
+public class EgovContextPacker implements DocumentPostProcessor {
+
+    // 병합된 청크가 포함하는 모든 원본 청크 ID
+    public static final String MERGED_CHUNK_IDS_KEY = "merged_chunk_ids";
+
+    private static final String PARENT_DOCUMENT_ID_KEY = "parent_document_id";
+    private static final String CHUNK_INDEX_KEY = "chunk_index";
+    private static final String CHUNK_INDEX_END_KEY = "chunk_index_end";
+    private static final int SHINGLE_SIZE = 3;
+
+    @Value("${rag.context-packing.enabled:true}")
+    private boolean enabled;
+
+    // 프롬프트 컨텍스트의 최대 추정 토큰 수
+    @Value("${rag.context-packing.token-budget:3000}")
+    private int tokenBudget;
+
+    // 이 값 이상이면 같은 내용의 청크로 판단
+    @Value("${rag.context-packing.duplicate-threshold:0.85}")
+    private double duplicateThreshold;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public List<Document> process(Query query, List<Document> documents) {
+        if (documents.isEmpty()) {
+            return documents;
+        }
+
+        List<Document> unique = removeDuplicates(documents);
+        List<Document> merged = mergeAdjacent(unique);
+        List<Document> packed = packWithinBudget(merged);
+
+        log.info("컨텍스트 패킹 완료 - 입력 {}개 → 중복 제거 {}개 → 인접 병합 {}개 → 예산 내 {}개 (예산 {}토큰)",
+                documents.size(), unique.size(), merged.size(), packed.size(), tokenBudget);
+        return packed;
+    }
+
+    /**
+     * 앞선(관련도가 높은) 청크와 거의 같은 청크 제거
+     */
+    private List<Document> removeDuplicates(List<Document> documents) {
+        List<Document> unique = new ArrayList<>();
+        List<Set<String>> uniqueShingles = new ArrayList<>();
+
+        for (Document document : documents) {
+            Set<String> shingles = shingles(document.getText());
+            boolean duplicate = false;
+            for (Set<String> existing : uniqueShingles) {
+                if (jaccard(shingles, existing) >= duplicateThreshold) {
+                    duplicate = true;
+                    break;
+                }
+            }
+
+            if (duplicate) {
+                log.debug("중복 청크 제외: {}", document.getId());
+                continue;
+            }
+            unique.add(document);
+            uniqueShingles.add(shingles);
+        }
+        return unique;
+    }
+
+    /**
+     * 같은 원본 문서에서 청크 순서가 연속된 청크를 하나로 병합 (앞 청크 내용이 먼저 오도록)
+     * 병합된 청크는 둘 중 관련도가 높은 쪽의 ID와 위치를 유지하고, 병합된 모든 청크 ID를 메타데이터에 보존
+     */
+    private List<Document> mergeAdjacent(List<Document> documents) {
+        List<Document> merged = new ArrayList<>(documents);
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            outer:
+            for (int i = 0; i < merged.size(); i++) {
+                for (int j = i + 1; j < merged.size(); j++) {
+                    Document first = merged.get(i);
+                    Document second = merged.get(j);
+                    Integer firstStart = chunkIndex(first);
+                    Integer secondStart = chunkIndex(second);
+                    if (firstStart == null || secondStart == null || !sameParentDocument(first, second)) {
+                        continue;
+                    }
+
+                    boolean firstIsEarlier = firstStart < secondStart;
+                    Document earlier = firstIsEarlier ? first : second;
+                    Document later = firstIsEarlier ? second : first;
+                    if (chunkIndexEnd(earlier) + 1 != chunkIndex(later)) {
+                        continue;
+                    }
+
+                    Map<String, Object> metadata = new HashMap<>(earlier.getMetadata());
+                    metadata.put(CHUNK_INDEX_END_KEY, chunkIndexEnd(later));
+                    metadata.put(MERGED_CHUNK_IDS_KEY, mergedChunkIds(first, second));
+
+                    Document combined = Document.builder()
+                            .id(first.getId())
+                            .text(earlier.getText() + "\n\n" + later.getText())
+                            .metadata(metadata)
+                            .score(first.getScore())
+                            .build();
+                    merged.set(i, combined);
+                    merged.remove(j);
+                    changed = true;
+                    break outer;
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 병합에 포함된 모든 원본 청크 ID (시맨틱 답변 캐시가 청크 변경 시 무효화할 수 있도록 전부 유지)
+     */
+    private List<String> mergedChunkIds(Document first, Document second) {
+        Set<String> ids = new LinkedHashSet<>();
+        ids.addAll(chunkIds(first));
+        ids.addAll(chunkIds(second));
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * 검색 결과 문서가 대표하는 원본 청크 ID 목록 (병합되지 않은 문서는 자신의 ID만)
+     */
+    public static List<String> chunkIds(Document document) {
+        Object ids = document.getMetadata().get(MERGED_CHUNK_IDS_KEY);
+        if (ids instanceof List<?> idList) {
+            return idList.stream().map(String::valueOf).toList();
+        }
+        return List.of(document.getId());
+    }
+
+    /**
+     * 관련도 순서대로 토큰 예산 안의 청크만 포함
+     * 첫 번째 청크는 예산을 넘으면 예산 크기로 잘라서 포함
+     */
+    private List<Document> packWithinBudget(List<Document> documents) {
+        List<Document> packed = new ArrayList<>();
+        int usedTokens = 0;
+
+        for (Document document : documents) {
+            int tokens = EgovTokenEstimatorUtil.estimateTokens(document.getText());
+            if (usedTokens + tokens <= tokenBudget) {
+                packed.add(document);
+                usedTokens += tokens;
+            } else if (packed.isEmpty()) {
+                packed.add(Document.builder()
+                        .id(document.getId())
+                        .text(EgovTokenEstimatorUtil.truncate(document.getText(), tokenBudget))
+                        .metadata(document.getMetadata())
+                        .score(document.getScore())
+                        .build());
+                usedTokens = tokenBudget;
+            }
+        }
+        return packed;
+    }
+
+    private Set<String> shingles(String text) {
+        String[] words = text.toLowerCase(Locale.ROOT).trim().split("\\s+");
+        Set<String> shingles = new HashSet<>();
+        if (words.length < SHINGLE_SIZE) {
+            shingles.add(String.join(" ", words));
+            return shingles;
+        }
+        for (int i = 0; i + SHINGLE_SIZE <= words.length; i++) {
+            shingles.add(String.join(" ", List.of(words).subList(i, i + SHINGLE_SIZE)));
+        }
+        return shingles;
+    }
+
+    private double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 1.0;
+        }
+        int intersection = 0;
+        for (String shingle : a) {
+            if (b.contains(shingle)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    private boolean sameParentDocument(Document a, Document b) {
+        Object parent = a.getMetadata().get(PARENT_DOCUMENT_ID_KEY);
+        return parent != null && parent.equals(b.getMetadata().get(PARENT_DOCUMENT_ID_KEY));
+    }
+
+    private Integer chunkIndex(Document document) {
+        return intValue(document.getMetadata().get(CHUNK_INDEX_KEY));
+    }
+
+    /**
+     * 병합된 청크가 포함하는 마지막 청크 순서 (병합되지 않았으면 시작 순서와 동일)
+     */
+    private int chunkIndexEnd(Document document) {
+        Integer end = intValue(document.getMetadata().get(CHUNK_INDEX_END_KEY));
+        return end != null ? end : chunkIndex(document);
+    }
+
+    private Integer intValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return (int) Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.chat.config.rag.postprocessors;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.rag.Query;
+import org.springframework.ai.rag.postretrieval.document.DocumentPostProcessor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import ai.djl.huggingface.tokenizers.Encoding;
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.djl.util.PairList;
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 ONNX cross-encoder 재순위화 단계
+ * 넓게 검색한 후보 청크를 (질문, 청크) 쌍으로 배치 추론하여 점수를 매기고 상위 N개만 프롬프트에 전달
+ * 제한 시간을 넘기거나 실행기가 포화되어 작업이 거부되면 검색 순서 그대로 상위 N개를 사용
+ * 제한 시간 초과 시 진행 중인 ONNX 추론은 RunOptions 종료 요청으로 중단하고 남은 배치는 실행하지 않음
+ */
+@Slf4j
+@Component
+public class EgovCrossEncoderReranker implements DocumentPostProcessor {
+
+    private final Executor rerankExecutor;
+
+    @Value("${rag.rerank.enabled:false}")
+    private boolean enabled;
+
+    @Value("${rag.rerank.model-uri:classpath:model/reranker/model.onnx}")
+    private String modelUri;
+
+    @Value("${rag.rerank.tokenizer-uri:classpath:model/reranker/tokenizer.json}")
+    private String tokenizerUri;
+
+    // 재순위화 대상 후보 수 (검색 단계의 Top K)
+    @Value("${rag.rerank.candidate-k:30}")
+    private int candidateK;
+
+    // 재순위화 후 프롬프트에 전달할 청크 수
+    @Value("${rag.rerank.top-n:3}")
+    private int topN;
+
+    // 한 번의 추론에 넣을 (질문, 청크) 쌍 수
+    @Value("${rag.rerank.batch-size:8}")
+    private int batchSize;
+
+    @Value("${rag.rerank.max-length:512}")
+    private int maxLength;
+
+    // 재순위화 제한 시간
+    @Value("${rag.rerank.timeout:800ms}")
+    private Duration timeout;
+
+    private OrtEnvironment environment;
+    private OrtSession session;
+    private HuggingFaceTokenizer tokenizer;
+
+    public EgovCrossEncoderReranker(@Qualifier("rerankExecutor") Executor rerankExecutor) {
+        this.rerankExecutor = rerankExecutor;
+    }
+
+    @PostConstruct
+    public void initialize() throws Exception {
+        if (!enabled) {
+            return;
+        }
+
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        Resource modelResource = resourceLoader.getResource(modelUri);
+        Resource tokenizerResource = resourceLoader.getResource(tokenizerUri);
+
+        environment = OrtEnvironment.getEnvironment();
+        try (InputStream modelStream = modelResource.getInputStream()) {
+            session = environment.createSession(modelStream.readAllBytes(), new OrtSession.SessionOptions());
+        }
+        try (InputStream tokenizerStream = tokenizerResource.getInputStream()) {
+            tokenizer = HuggingFaceTokenizer.newInstance(tokenizerStream, Map.of(
+                    "padding", "true",
+                    "truncation", "true",
+                    "maxLength", String.valueOf(maxLength)));
+        }
+
+        log.info("Cross-encoder 재순위화 모델 로드 완료 - 모델: {}, 후보: {}개 → 상위 {}개, 제한 시간: {}",
+                modelUri, candidateK, topN, timeout);
+    }
+
+    @PreDestroy
+    public void close() throws OrtException {
+        if (session != null) {
+            session.close();
+        }
+        if (tokenizer != null) {
+            tokenizer.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getCandidateK() {
+        return candidateK;
+    }
+
+    @Override
+    public List<Document> process(Query query, List<Document> documents) {
+        if (documents.size() <= 1) {
+            return documents;
+        }
+
+        long startTime = System.currentTimeMillis();
+        InferenceCancellation cancellation;
+        try {
+            cancellation = new InferenceCancellation(new OrtSession.RunOptions());
+        } catch (OrtException e) {
+            log.warn("재순위화 실행 옵션 생성 실패 - 검색 순서대로 상위 {}개 사용: {}", topN, e.getMessage());
+            return documents.subList(0, Math.min(topN, documents.size()));
+        }
+
+        CompletableFuture<List<Document>> reranking;
+        try {
+            reranking = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return rerank(query.text(), documents, cancellation);
+                } finally {
+                    cancellation.close();
+                }
+            }, rerankExecutor);
+        } catch (RejectedExecutionException e) {
+            cancellation.close();
+            log.warn("재순위화 실행기 포화 - 검색 순서대로 상위 {}개 사용", topN);
+            return documents.subList(0, Math.min(topN, documents.size()));
+        }
+
+        try {
+            List<Document> reranked = reranking.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("재순위화 완료 - 후보 {}개 → {}개 ({}ms)", documents.size(), reranked.size(),
+                    System.currentTimeMillis() - startTime);
+            return reranked;
+        } catch (TimeoutException e) {
+            cancellation.cancel();
+            log.warn("재순위화 제한 시간 {}ms 초과 - 검색 순서대로 상위 {}개 사용", timeout.toMillis(), topN);
+        } catch (InterruptedException e) {
+            cancellation.cancel();
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("재순위화 실패 - 검색 순서대로 상위 {}개 사용: {}", topN, e.getMessage());
+        }
+        return documents.subList(0, Math.min(topN, documents.size()));
+    }
+
+    /**
+     * 배치 단위로 (질문, 청크) 쌍의 관련도 점수를 계산하여 상위 N개 반환
+     * 취소되면 남은 배치를 실행하지 않고 종료
+     */
+    private List<Document> rerank(String query, List<Document> documents, InferenceCancellation cancellation) {
+        List<Document> scored = new ArrayList<>(documents.size());
+        for (int start = 0; start < documents.size(); start += batchSize) {
+            if (cancellation.isCancelled()) {
+                throw new CancellationException("재순위화 취소됨");
+            }
+            List<Document> batch = documents.subList(start, Math.min(documents.size(), start + batchSize));
+            float[] scores = score(query, batch, cancellation.runOptions());
+            for (int i = 0; i < batch.size(); i++) {
+                Document document = batch.get(i);
+                scored.add(Document.builder()
+                        .id(document.getId())
+                        .text(document.getText())
+                        .metadata(document.getMetadata())
+                        .score((double) scores[i])
+                        .build());
+            }
+        }
+
+        scored.sort(Comparator.comparingDouble((Document document) -> document.getScore()).reversed());
+        return scored.subList(0, Math.min(topN, scored.size()));
+    }
+
+    /**
+     * 배치 추론 (패딩된 input_ids, attention_mask, token_type_ids → 관련도 logit)
+     */
+    private float[] score(String query, List<Document> batch, OrtSession.RunOptions runOptions) {
+        PairList<String, String> pairs = new PairList<>();
+        for (Document document : batch) {
+            pairs.add(query, document.getText());
+        }
+        Encoding[] encodings = tokenizer.batchEncode(pairs);
+
+        long[][] inputIds = new long[encodings.length][];
+        long[][] attentionMask = new long[encodings.length][];
+        long[][] tokenTypeIds = new long[encodings.length][];
+        for (int i = 0; i < encodings.length; i++) {
+            inputIds[i] = encodings[i].getIds();
+            attentionMask[i] = encodings[i].getAttentionMask();
+            tokenTypeIds[i] = encodings[i].getTypeIds();
+        }
+
+        Map<String, OnnxTensor> inputs = new HashMap<>();
+        try {
+            inputs.put("input_ids", OnnxTensor.createTensor(environment, inputIds));
+            inputs.put("attention_mask", OnnxTensor.createTensor(environment, attentionMask));
+            if (session.getInputNames().contains("token_type_ids")) {
+                inputs.put("token_type_ids", OnnxTensor.createTensor(environment, tokenTypeIds));
+            }
+
+            try (OrtSession.Result result = session.run(inputs, runOptions)) {
+                float[][] logits = (float[][]) result.get(0).getValue();
+                float[] scores = new float[logits.length];
+                for (int i = 0; i < logits.length; i++) {
+                    scores[i] = logits[i][0];
+                }
+                return scores;
+            }
+        } catch (OrtException e) {
+            throw new IllegalStateException("Cross-encoder 추론 실패", e);
+        } finally {
+            inputs.values().forEach(OnnxTensor::close);
+        }
+    }
+
+    /**
+     * 재순위화 작업 하나의 취소 상태와 ONNX 실행 옵션
+     * 작업 종료(close)와 제한 시간 초과(cancel)가 동시에 일어나도 닫힌 실행 옵션에 접근하지 않도록 동기화
+     */
+    private static final class InferenceCancellation {
+
+        private final OrtSession.RunOptions runOptions;
+        private boolean cancelled;
+        private boolean closed;
+
+        InferenceCancellation(OrtSession.RunOptions runOptions) {
+            this.runOptions = runOptions;
+        }
+
+        OrtSession.RunOptions runOptions() {
+            return runOptions;
+        }
+
+        synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * 남은 배치 실행을 막고 진행 중인 추론에 종료 요청
+         */
+        synchronized void cancel() {
+            cancelled = true;
+            if (closed) {
+                return;
+            }
+            try {
+                runOptions.setTerminate(true);
+            } catch (OrtException e) {
+                log.warn("재순위화 추론 종료 요청 실패: {}", e.getMessage());
+            }
+        }
+
+        synchronized void close() {
+            if (!closed) {
+                closed = true;
+                runOptions.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.chat.config.rag.retrievers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.rag.Query;
+import org.springframework.ai.rag.retrieval.search.DocumentRetriever;
+import org.springframework.ai.rag.retrieval.search.VectorStoreDocumentRetriever;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+import org.springframework.ai.vectorstore.redis.RedisFilterExpressionConverter;
+import org.springframework.ai.vectorstore.redis.RedisVectorStore;
+import org.springframework.ai.vectorstore.redis.RedisVectorStore.MetadataField;
+import org.springframework.util.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.search.FTSearchParams;
+import redis.clients.jedis.search.SearchResult;
+
+/**
+ * RediSearch 전문 검색(BM25)과 KNN 벡터 검색을 결합하는 하이브리드 DocumentRetriever
+ * 두 검색의 후보 순위를 Reciprocal Rank Fusion(RRF)으로 합산하여 상위 K개를 반환
+ * 전문 검색이 실패하면 벡터 검색 결과만 사용
+ */
+@Slf4j
+public class EgovHybridDocumentRetriever implements DocumentRetriever {
+
+    private static final String CONTENT_FIELD = "content";
+    private static final Pattern TOKEN_SPLITTER = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // 검색어 끝에서 제거할 조사 (색인된 단어와 접두어 검색으로 비교)
+    private static final List<String> KOREAN_PARTICLES = List.of(
+            "에서는", "으로는", "에서", "으로", "에는", "은", "는", "이", "가", "을", "를", "의", "에", "로", "와", "과", "도");
+
+    private final RedisVectorStore redisVectorStore;
+    private final String indexName;
+    private final String keyPrefix;
+    private final RedisFilterExpressionConverter filterExpressionConverter;
+    private final List<String> metadataFieldNames;
+    private final double similarityThreshold;
+    private final int candidateK;
+    private final int topK;
+    private final int rrfK;
+    private final String scorer;
+
+    public EgovHybridDocumentRetriever(RedisVectorStore redisVectorStore, String indexName, String keyPrefix,
+                                       List<MetadataField> metadataFields, double similarityThreshold,
+                                       int candidateK, int topK, int rrfK, String scorer) {
+        this.redisVectorStore = redisVectorStore;
+        this.indexName = indexName;
+        this.keyPrefix = keyPrefix;
+        this.filterExpressionConverter = new RedisFilterExpressionConverter(metadataFields);
+        this.metadataFieldNames = metadataFields.stream().map(MetadataField::name).toList();
+        this.similarityThreshold = similarityThreshold;
+        this.candidateK = candidateK;
+        this.topK = topK;
+        this.rrfK = rrfK;
+        this.scorer = scorer;
+    }
+
+    @Override
+    public List<Document> retrieve(Query query) {
+        long startTime = System.currentTimeMillis();
+        Filter.Expression filterExpression = filterExpression(query);
+
+        SearchRequest.Builder searchRequest = SearchRequest.builder()
+                .query(query.text())
+                .topK(candidateK)
+                .similarityThreshold(similarityThreshold);
+        if (filterExpression != null) {
+            searchRequest.filterExpression(filterExpression);
+        }
+
+        List<Document> vectorResults = redisVectorStore.similaritySearch(searchRequest.build());
+        List<Document> textResults = fullTextSearch(query.text(), filterExpression);
+
+        // RRF: 각 검색 결과에서의 순위 r에 대해 1 / (k + r)를 합산
+        Map<String, Double> fusedScores = new HashMap<>();
+        Map<String, Document> documents = new HashMap<>();
+        addRanks(vectorResults, fusedScores, documents);
+        addRanks(textResults, fusedScores, documents);
+
+        List<Document> fused = fusedScores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(topK)
+                .map(entry -> withScore(documents.get(entry.getKey()), entry.getValue()))
+                .toList();
+
+        log.info("하이브리드 검색 완료 - 벡터 후보 {}개, 전문 검색 후보 {}개, 결과 {}개 ({}ms)",
+                vectorResults.size(), textResults.size(), fused.size(), System.currentTimeMillis() - startTime);
+        return fused;
+    }
+
+    private void addRanks(List<Document> results, Map<String, Double> fusedScores, Map<String, Document> documents) {
+        for (int rank = 0; rank < results.size(); rank++) {
+            Document document = results.get(rank);
+            fusedScores.merge(document.getId(), 1.0 / (rrfK + rank + 1), Double::sum);
+            // 메타데이터가 있는 벡터 검색 결과를 우선 사용
+            documents.putIfAbsent(document.getId(), document);
+        }
+    }
+
+    /**
+     * 요청 컨텍스트의 메타데이터 필터 조건 (VectorStoreDocumentRetriever와 같은 컨텍스트 키 사용)
+     */
+    private Filter.Expression filterExpression(Query query) {
+        Object filter = query.context().get(VectorStoreDocumentRetriever.FILTER_EXPRESSION);
+        if (filter instanceof Filter.Expression expression) {
+            return expression;
+        }
+        if (filter != null && StringUtils.hasText(filter.toString())) {
+            return new FilterExpressionTextParser().parse(filter.toString());
+        }
+        return null;
+    }
+
+    /**
+     * 청크 본문에 대한 RediSearch 전문 검색 (검색어 중 하나라도 포함하면 후보)
+     */
+    private List<Document> fullTextSearch(String text, Filter.Expression filterExpression) {
+        String textQuery = buildTextQuery(text);
+        if (textQuery == null) {
+            return List.of();
+        }
+        if (filterExpression != null) {
+            textQuery = filterExpressionConverter.convertExpression(filterExpression) + " " + textQuery;
+        }
+
+        try {
+            SearchResult result = redisVectorStore.getJedis().ftSearch(indexName, textQuery,
+                    FTSearchParams.searchParams()
+                            .scorer(scorer)
+                            .returnFields(returnFields())
+                            .limit(0, candidateK)
+                            .dialect(2));
+
+            List<Document> documents = new ArrayList<>();
+            for (redis.clients.jedis.search.Document found : result.getDocuments()) {
+                String id = found.getId().startsWith(keyPrefix) ? found.getId().substring(keyPrefix.length()) : found.getId();
+                Map<String, Object> metadata = new HashMap<>();
+                for (String name : metadataFieldNames) {
+                    if (found.hasProperty(name)) {
+                        metadata.put(name, found.getString(name));
+                    }
+                }
+                documents.add(new Document(id, found.getString(CONTENT_FIELD), metadata));
+            }
+            return documents;
+        } catch (Exception e) {
+            log.warn("전문 검색 실패 - 벡터 검색 결과만 사용: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private String[] returnFields() {
+        List<String> fields = new ArrayList<>(metadataFieldNames);
+        fields.add(CONTENT_FIELD);
+        return fields.toArray(String[]::new);
+    }
+
+    /**
+     * 질문을 "@content:(용어1*|용어2*)" 형태의 OR 접두어 검색식으로 변환
+     */
+    private String buildTextQuery(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : TOKEN_SPLITTER.split(text.toLowerCase(Locale.ROOT))) {
+            String term = stripParticle(token);
+            if (term.length() >= 2) {
+                terms.add(term + "*");
+            }
+        }
+
+        if (terms.isEmpty()) {
+            return null;
+        }
+        return "@" + CONTENT_FIELD + ":(" + String.join("|", terms) + ")";
+    }
+
+    private String stripParticle(String token) {
+        for (String particle : KOREAN_PARTICLES) {
+            if (token.length() > particle.length() + 1 && token.endsWith(particle)) {
+                return token.substring(0, token.length() - particle.length());
+            }
+        }
+        return token;
+    }
+
+    private Document withScore(Document document, double score) {
+        return Document.builder()
+                .id(document.getId())
+                .text(document.getText())
+                .metadata(document.getMetadata())
+                .score(score)
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.chat.config.rag.retrievers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.rag.Query;
+import org.springframework.ai.rag.preretrieval.query.transformation.QueryTransformer;
+import org.springframework.ai.rag.retrieval.search.DocumentRetriever;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 원본 질문 검색과 질문 압축을 동시에 시작하는 투기적 DocumentRetriever
+ * 압축이 예산 시간 안에 끝나면 압축 질문 검색 결과와 원본 질문 검색 결과를 병합하고,
+ * 예산을 넘기면 이미 진행 중인 원본 질문 검색 결과를 바로 사용함
+ */
+@Slf4j
+public class EgovSpeculativeDocumentRetriever implements DocumentRetriever {
+
+    private final QueryTransformer queryTransformer;
+    private final DocumentRetriever delegate;
+    private final AsyncTaskExecutor executor;
+    private final Duration compressionBudget;
+    private final int topK;
+
+    public EgovSpeculativeDocumentRetriever(QueryTransformer queryTransformer, DocumentRetriever delegate,
+                                            AsyncTaskExecutor executor, Duration compressionBudget, int topK) {
+        this.queryTransformer = queryTransformer;
+        this.delegate = delegate;
+        this.executor = executor;
+        this.compressionBudget = compressionBudget;
+        this.topK = topK;
+    }
+
+    @Override
+    public List<Document> retrieve(Query query) {
+        long startTime = System.currentTimeMillis();
+
+        CompletableFuture<List<Document>> rawSearch = null;
+        // 예산 초과 시 작업 스레드를 인터럽트할 수 있도록 CompletableFuture가 아닌 실제 작업 핸들 사용
+        // 인터럽트되면 압축 변환기가 대기 중인 모델 호출도 취소함
+        Future<Query> compression;
+        try {
+            rawSearch = CompletableFuture.supplyAsync(() -> delegate.retrieve(query), executor);
+            compression = executor.submit(() -> queryTransformer.transform(query));
+        } catch (RejectedExecutionException e) {
+            // 실행기 포화 시 원본 질문 검색을 포기하고 (대기 중이면 실행되지 않음) 압축 질문 검색만 수행
+            if (rawSearch != null) {
+                rawSearch.cancel(false);
+            }
+            log.warn("투기적 검색 실행기 포화 - 압축 질문 검색만 수행");
+            return delegate.retrieve(queryTransformer.transform(query));
+        }
+
+        Query compressedQuery;
+        try {
+            compressedQuery = compression.get(compressionBudget.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 응답은 원본 질문 결과로 진행하므로 압축 작업이 스레드를 계속 차지하지 않도록 중단
+            compression.cancel(true);
+            log.warn("질문 압축이 예산 {}ms를 초과 - 원본 질문 검색 결과 사용", compressionBudget.toMillis());
+            return rawSearch.join();
+        } catch (ExecutionException e) {
+            log.warn("질문 압축 실패 - 원본 질문 검색 결과 사용: {}", e.getCause().getMessage());
+            return rawSearch.join();
+        } catch (InterruptedException e) {
+            compression.cancel(true);
+            Thread.currentThread().interrupt();
+            return rawSearch.join();
+        }
+
+        // 압축이 필요 없었던 질문은 원본 검색 결과를 그대로 사용
+        if (compressedQuery.text().equals(query.text())) {
+            log.info("투기적 검색 완료 - 질문 변경 없음, 원본 검색 결과 사용 ({}ms)", System.currentTimeMillis() - startTime);
+            return rawSearch.join();
+        }
+
+        List<Document> compressedResults = delegate.retrieve(compressedQuery);
+        List<Document> merged = merge(compressedResults, rawSearch.join());
+
+        log.info("투기적 검색 완료 - 압축 질문 결과 {}개, 병합 결과 {}개 ({}ms)",
+                compressedResults.size(), merged.size(), System.currentTimeMillis() - startTime);
+        return merged;
+    }
+
+    /**
+     * 두 검색 결과를 문서 ID 기준으로 중복 제거 후 유사도 순으로 상위 K개 선택
+     * 같은 문서가 양쪽에 있으면 더 높은 점수를 사용
+     */
+    private List<Document> merge(List<Document> compressedResults, List<Document> rawResults) {
+        Map<String, Document> byId = new LinkedHashMap<>();
+        for (Document document : compressedResults) {
+            byId.put(document.getId(), document);
+        }
+        for (Document document : rawResults) {
+            byId.merge(document.getId(), document, (existing, candidate) -> score(candidate) > score(existing) ? candidate : existing);
+        }
+
+        List<Document> merged = new ArrayList<>(byId.values());
+        merged.sort(Comparator.comparingDouble(EgovSpeculativeDocumentRetriever::score).reversed());
+        return merged.size() > topK ? merged.subList(0, topK) : merged;
+    }
+
+    private static double score(Document document) {
+        return document.getScore() != null ? document.getScore() : 0.0;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.chat.config.rag.transformers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 질문 압축 지연 시간 기반 서킷 브레이커
+ * 최근 압축 지연 시간의 p95가 임계값을 넘으면 압축을 자동으로 중단하고,
+ * 대기 시간이 지난 뒤 시험 요청 한 건의 지연 시간이 회복되었으면 다시 활성화함
+ */
+@Slf4j
+@Component
+public class EgovCompressionCircuitBreaker {
+
+    // p95 계산에 사용할 최근 압축 지연 시간 수
+    @Value("${rag.compression.circuit-breaker.window-size:50}")
+    private int windowSize;
+
+    // p95 판단을 시작할 최소 표본 수
+    @Value("${rag.compression.circuit-breaker.min-samples:10}")
+    private int minSamples;
+
+    @Value("${rag.compression.circuit-breaker.p95-threshold:2s}")
+    private Duration p95Threshold;
+
+    // 서킷이 열린 뒤 시험 요청을 허용하기까지의 대기 시간
+    @Value("${rag.compression.circuit-breaker.open-duration:30s}")
+    private Duration openDuration;
+
+    @Value("${rag.compression.circuit-breaker.enabled:true}")
+    private boolean enabled;
+
+    private final Timer latencyTimer;
+    private final Counter timeoutCounter;
+    private final Counter skippedCounter;
+
+    private long[] latencies;
+    private int latencyCount;
+    private int nextIndex;
+    private boolean open;
+    private boolean probing;
+    private long openedAt;
+
+    public EgovCompressionCircuitBreaker(MeterRegistry meterRegistry) {
+        this.latencyTimer = Timer.builder("rag.compression.latency")
+                .description("질문 압축 지연 시간")
+                .publishPercentiles(0.95)
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("rag.compression.timeouts")
+                .description("제한 시간을 넘겨 원본 질문을 사용한 압축 수")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("rag.compression.circuit.skipped")
+                .description("서킷이 열려 건너뛴 압축 수")
+                .register(meterRegistry);
+        Gauge.builder("rag.compression.circuit.open", this, breaker -> breaker.isOpenState() ? 1 : 0)
+                .description("압축 서킷 브레이커 열림 여부 (1: 압축 중단)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 압축 요청을 허용할지 판단
+     * 서킷이 열려 있으면 대기 시간이 지난 뒤 한 건만 시험 요청으로 허용
+     */
+    public synchronized boolean allowRequest() {
+        if (!enabled || !open) {
+            return true;
+        }
+
+        if (!probing && System.currentTimeMillis() - openedAt >= openDuration.toMillis()) {
+            probing = true;
+            log.info("질문 압축 서킷 시험 요청 허용");
+            return true;
+        }
+
+        skippedCounter.increment();
+        return false;
+    }
+
+    /**
+     * 압축 지연 시간 기록 (제한 시간 초과 시에는 제한 시간을 기록)
+     */
+    public synchronized void record(long elapsedMillis, boolean timedOut) {
+        latencyTimer.record(elapsedMillis, TimeUnit.MILLISECONDS);
+        if (timedOut) {
+            timeoutCounter.increment();
+        }
+        if (!enabled) {
+            return;
+        }
+
+        if (probing) {
+            probing = false;
+            if (!timedOut && elapsedMillis <= p95Threshold.toMillis()) {
+                open = false;
+                latencyCount = 0;
+                nextIndex = 0;
+                log.info("질문 압축 지연 시간 회복 ({}ms) - 서킷 닫힘, 압축 재개", elapsedMillis);
+            } else {
+                openedAt = System.currentTimeMillis();
+                log.warn("질문 압축 시험 요청 지연 ({}ms) - 서킷 유지", elapsedMillis);
+            }
+            return;
+        }
+
+        if (latencies == null || latencies.length != windowSize) {
+            latencies = new long[windowSize];
+        }
+        latencies[nextIndex] = elapsedMillis;
+        nextIndex = (nextIndex + 1) % windowSize;
+        latencyCount = Math.min(latencyCount + 1, windowSize);
+
+        if (!open && latencyCount >= minSamples) {
+            long p95 = p95();
+            if (p95 > p95Threshold.toMillis()) {
+                open = true;
+                openedAt = System.currentTimeMillis();
+                log.warn("질문 압축 p95 {}ms가 임계값 {}ms 초과 - 서킷 열림, {}간 압축 중단",
+                        p95, p95Threshold.toMillis(), openDuration);
+            }
+        }
+    }
+
+    /**
+     * 지연 시간을 측정하지 못하고 끝난 요청(거부, 인터럽트)의 시험 요청 상태 해제
+     * 서킷은 열린 상태로 유지되며 다음 요청이 다시 시험 요청이 됨
+     */
+    public synchronized void releaseProbe() {
+        probing = false;
+    }
+
+    private long p95() {
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(latencyCount * 0.95) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private synchronized boolean isOpenState() {
+        return open;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.chat.config.rag.transformers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.chat.util.EgovTokenEstimatorUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 질문 압축 프롬프트에 넣을 히스토리 선택기
+ * 최근 메시지부터 토큰 예산 안에서만 선택하고, 긴 답변은 코드 블록과 <think> 블록을 제거한 뒤 잘라내어
+ * 대화가 길어져도 압축 프롬프트 크기(Ollama prefill 시간)가 일정하게 유지되도록 함
+ */
+@Slf4j
+@Component
+public class EgovCompressionHistorySelector {
+
+    private static final Pattern THINK_BLOCK = Pattern.compile("(?s)<think>.*?</think>");
+    private static final Pattern CODE_BLOCK = Pattern.compile("(?s)```.*?```");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // 압축 프롬프트에 포함할 최대 메시지 수 (최근 메시지 기준)
+    @Value("${rag.compression.history.max-messages:6}")
+    private int maxMessages;
+
+    // 압축 프롬프트 히스토리의 최대 추정 토큰 수
+    @Value("${rag.compression.history.token-budget:800}")
+    private int tokenBudget;
+
+    // 메시지 하나의 최대 글자 수 (초과분은 잘라냄)
+    @Value("${rag.compression.history.max-message-chars:400}")
+    private int maxMessageChars;
+
+    /**
+     * 최근 메시지부터 토큰 예산 안에서 히스토리 선택 (원래 순서 유지)
+     *
+     * @param history 전체 대화 히스토리
+     * @return 압축 프롬프트용 히스토리
+     */
+    public List<Message> select(List<Message> history) {
+        List<Message> selected = new ArrayList<>();
+        int usedTokens = 0;
+
+        for (int i = history.size() - 1; i >= 0 && selected.size() < maxMessages; i--) {
+            Message message = history.get(i);
+            if (message.getMessageType() != MessageType.USER && message.getMessageType() != MessageType.ASSISTANT) {
+                continue;
+            }
+
+            String text = condense(message.getText());
+            int tokens = EgovTokenEstimatorUtil.estimateTokens(text);
+            // 가장 최근 메시지는 예산을 넘더라도 포함
+            if (!selected.isEmpty() && usedTokens + tokens > tokenBudget) {
+                break;
+            }
+
+            selected.add(message.getMessageType() == MessageType.USER ? new UserMessage(text) : new AssistantMessage(text));
+            usedTokens += tokens;
+        }
+
+        Collections.reverse(selected);
+        log.debug("압축용 히스토리 선택: 전체 {}개 중 {}개, 추정 토큰 {}개", history.size(), selected.size(), usedTokens);
+        return selected;
+    }
+
+    /**
+     * 히스토리 끝에 이미 추가된 현재 질문 제거
+     * 어드바이저 경로에서는 MessageChatMemoryAdvisor가 RAG 어드바이저보다 먼저 현재 질문을 저장하므로,
+     * 제거하지 않으면 같은 턴이 경로(시맨틱 캐시 경로는 저장 전에 압축)와 재시도 여부에 따라 다른 히스토리로 보임
+     *
+     * @param history 대화 히스토리
+     * @param query 현재 질문
+     * @return 현재 질문을 제외한 히스토리
+     */
+    public static List<Message> withoutCurrentQuestion(List<Message> history, String query) {
+        if (history.isEmpty() || query == null) {
+            return history;
+        }
+
+        Message last = history.get(history.size() - 1);
+        if (last.getMessageType() == MessageType.USER && last.getText() != null
+                && last.getText().trim().equals(query.trim())) {
+            return history.subList(0, history.size() - 1);
+        }
+        return history;
+    }
+
+    /**
+     * <think> 블록과 코드 블록을 제거하고 공백 정리 후 최대 글자 수로 자름
+     */
+    private String condense(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String condensed = THINK_BLOCK.matcher(text).replaceAll(" ");
+        condensed = CODE_BLOCK.matcher(condensed).replaceAll(" [코드 생략] ");
+        condensed = WHITESPACE.matcher(condensed).replaceAll(" ").trim();
+
+        if (condensed.length() > maxMessageChars) {
+            condensed = condensed.substring(0, maxMessageChars) + "...";
+        }
+        return condensed;
+    }
+}
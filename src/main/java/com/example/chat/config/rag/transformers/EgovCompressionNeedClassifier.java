@@ -0,0 +1,136 @@
+package com.example.chat.config.rag.transformers;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 질문 압축(LLM 호출) 필요 여부를 로컬 규칙으로 판단하는 분류기
+ * 지시어/대명사, 서수 참조("두 번째"), 생략된 주제를 감지했을 때만 압축하고
+ * 주제를 직접 명시한 독립 질문은 바로 벡터 검색으로 진행하여 첫 토큰 지연을 줄임
+ */
+@Slf4j
+@Component
+public class EgovCompressionNeedClassifier {
+
+    // 한국어 지시어/대명사
+    // 단독 관형사 "그", "이", "저"는 뒤에 오는 단어와 관계없이 지시어로 판단 ("그 설정은?", "이 API 예시")
+    // 수 관형사 "두", "세"는 앞서 나온 대상을 가리키는 명사가 뒤따를 때만
+    private static final Pattern KOREAN_ANAPHORA = Pattern.compile(
+            "(그것|그거|그건|그게|이것|이거|이건|이게|저것|저거|그런|이런|저런|그렇|해당|위의|위에서|앞의|앞에서|방금|아까|"
+            + "거기|여기서|그중|그 중|그럼|그러면|그래서|그리고|또한)"
+            + "|(^|\\s)(그|이|저)(\\s+[\\p{L}\\p{N}]|\\s*[?.!,]|\\s*$)"
+            + "|(^|\\s)(두|세)\\s+(기능|내용|방법|부분|것|거|예시|항목|설정|코드|문제|차이|질문|답변)");
+
+    private static final Pattern ENGLISH_ANAPHORA = Pattern.compile(
+            "\\b(it|its|this|that|these|those|they|them|their|he|she|above|previous|former|latter|same|one|ones)\\b");
+
+    // 서수 참조 ("두 번째", "3번째", "2번", "마지막", "second" 등)
+    private static final Pattern ORDINAL_REFERENCE = Pattern.compile(
+            "(첫|두|세|네|다섯|여섯|일곱|여덟|아홉|열|\\d+)\\s*(번\\s*째|번째|번|째)|마지막|"
+            + "\\b(first|second|third|fourth|fifth|last|\\d+(st|nd|rd|th))\\b");
+
+    private static final Pattern TOKEN_SPLITTER = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // 주제를 나타내지 않는 요청/의문 표현
+    private static final Set<String> STOPWORDS = Set.of(
+            "알려", "알려줘", "알려주세요", "줘", "주세요", "해줘", "해주세요", "설명", "설명해", "설명해줘", "설명해주세요",
+            "뭐야", "뭔가요", "무엇", "무엇인가요", "무엇인지", "어떻게", "어떤", "왜", "언제", "어디", "있어", "있나요", "하나요",
+            "방법", "예시", "예제", "자세히", "더", "좀", "다른", "대해", "대하여", "관련", "경우",
+            "what", "how", "why", "when", "where", "which", "who", "is", "are", "the", "a", "an", "of", "to", "in",
+            "for", "and", "or", "me", "tell", "explain", "show", "about", "more", "example", "examples", "please");
+
+    // 단어 끝에서 제거할 조사 (긴 것부터 비교)
+    private static final List<String> KOREAN_PARTICLES = List.of(
+            "에서는", "으로는", "에서", "으로", "에는", "와는", "과는", "은", "는", "이", "가", "을", "를", "의", "에",
+            "로", "와", "과", "도", "만");
+
+    @Value("${rag.compression-classifier.enabled:true}")
+    private boolean enabled;
+
+    // 히스토리와 겹치는 단어가 없어도 독립 질문으로 볼 최소 주제어 수
+    @Value("${rag.compression-classifier.min-self-contained-terms:3}")
+    private int minSelfContainedTerms;
+
+    /**
+     * 질문 압축이 필요한지 판단
+     *
+     * @param query 원본 질문
+     * @param history 대화 히스토리 (끝에 현재 질문이 저장되어 있어도 됨)
+     * @return 압축이 필요하면 true
+     */
+    public boolean needsCompression(String query, List<Message> history) {
+        if (!enabled) {
+            return true;
+        }
+
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+
+        if (KOREAN_ANAPHORA.matcher(normalized).find() || ENGLISH_ANAPHORA.matcher(normalized).find()) {
+            log.info("압축 필요 판단 - 지시어/대명사 포함: '{}'", query);
+            return true;
+        }
+
+        if (ORDINAL_REFERENCE.matcher(normalized).find()) {
+            log.info("압축 필요 판단 - 서수 참조 포함: '{}'", query);
+            return true;
+        }
+
+        Set<String> queryTerms = extractTerms(normalized);
+        if (queryTerms.size() >= minSelfContainedTerms) {
+            log.info("압축 생략 - 주제어 {}개를 포함한 독립 질문: '{}'", queryTerms.size(), query);
+            return false;
+        }
+
+        // 주제어가 적더라도 이전 대화의 주제를 직접 언급했다면 독립 질문으로 판단
+        // 이미 저장된 현재 질문이 포함되면 항상 자기 자신과 겹치므로 제외
+        Set<String> historyTerms = new HashSet<>();
+        for (Message message : EgovCompressionHistorySelector.withoutCurrentQuestion(history, query)) {
+            if (message.getMessageType() == MessageType.USER && message.getText() != null) {
+                historyTerms.addAll(extractTerms(message.getText().toLowerCase(Locale.ROOT)));
+            }
+        }
+        boolean mentionsHistoryTopic = queryTerms.stream().anyMatch(historyTerms::contains);
+        if (queryTerms.size() >= 2 && mentionsHistoryTopic) {
+            log.info("압축 생략 - 이전 대화 주제를 명시한 질문: '{}'", query);
+            return false;
+        }
+
+        log.info("압축 필요 판단 - 주제어 부족 (주제어 {}개, 히스토리 주제 언급: {}): '{}'",
+                queryTerms.size(), mentionsHistoryTopic, query);
+        return true;
+    }
+
+    /**
+     * 조사와 요청 표현을 제외한 주제어 추출
+     */
+    private Set<String> extractTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : TOKEN_SPLITTER.split(text)) {
+            String term = stripParticle(token);
+            if (term.length() >= 2 && !STOPWORDS.contains(term) && !STOPWORDS.contains(token)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private String stripParticle(String token) {
+        for (String particle : KOREAN_PARTICLES) {
+            if (token.length() > particle.length() + 1 && token.endsWith(particle)) {
+                return token.substring(0, token.length() - particle.length());
+            }
+        }
+        return token;
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.chat.config.rag.transformers;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.memory.ChatMemory;
@@ -9,21 +16,105 @@ import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.ai.rag.Query;
 import org.springframework.ai.rag.preretrieval.query.transformation.CompressionQueryTransformer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import com.example.chat.repository.EgovCompressedQueryCacheRepository;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
 public class EgovCompressionQueryTransformer {
 
+    // Spring AI의 CompressionQueryTransformer에 사용할 커스텀 프롬프트
+    // 중요: {history}와 {query} 플레이스홀더는 필수설정값
+    private static final String COMPRESSION_PROMPT = """
+        You are a query rewriting assistant. Your ONLY job is to rewrite follow-up questions into standalone questions using conversation history.
+
+        STRICT RULES:
+        - Output ONLY the rewritten question
+        - NO explanations, NO thinking process, NO examples
+        - DO NOT use <think> tags or any XML tags
+        - Keep the SAME language as the original question (Korean → Korean, English → English)
+        - Replace pronouns and references with specific terms from history
+
+        EXAMPLES:
+
+        History:
+        User: React의 주요 기능 3가지는?
+        Assistant: 1. 컴포넌트 기반 2. Virtual DOM 3. 단방향 데이터 흐름
+
+        Follow-up: 두 번째 기능을 설명해줘
+        Rewritten: React의 Virtual DOM 기능을 설명해줘
+
+        ---
+
+        History:
+        User: 전자정부 실행환경에서 aop를 처리하는 방법에 대하여 알려 줘
+        Assistant: [AOP 처리 방법 설명... 1. 프레임워크 지원 2. 설정 방법 3. Pointcut 표현식]
+
+        Follow-up: 세 번째 사항의 예시를 알려 줘
+        Rewritten: 전자정부 실행환경 AOP의 Pointcut 표현식 예시를 알려 줘
+
+        ---
+
+        NOW REWRITE THIS:
+
+        Conversation History:
+        {history}
+
+        Follow-up Question:
+        {query}
+
+        Rewritten Question:""";
+
     private final ChatMemory chatMemory;
-    private final ChatClient chatClient;
-    
-    public EgovCompressionQueryTransformer(ChatMemory chatMemory, ChatClient chatClient) {
+
+    // 압축 필요 여부를 LLM 호출 없이 판단하는 분류기
+    private final EgovCompressionNeedClassifier compressionNeedClassifier;
+
+    // 압축 프롬프트용 히스토리 선택기 (토큰 예산)
+    private final EgovCompressionHistorySelector historySelector;
+
+    // 같은 히스토리와 후속 질문의 압축 결과 캐시
+    private final EgovCompressedQueryCacheRepository compressedQueryCache;
+
+    // 압축 지연 시간 기반 서킷 브레이커
+    private final EgovCompressionCircuitBreaker circuitBreaker;
+
+    // 제한 시간을 적용하기 위해 압축 LLM 호출을 실행하는 실행기
+    private final ThreadPoolTaskExecutor queryCompressionExecutor;
+
+    // 압축 제한 시간 (초과 시 원본 질문 사용)
+    @Value("${rag.compression.timeout:3s}")
+    private Duration compressionTimeout;
+
+    // 프롬프트와 ChatClient 설정은 요청과 무관하므로 한 번만 생성하여 재사용 (스레드 안전)
+    private final CompressionQueryTransformer compressionTransformer;
+
+    public EgovCompressionQueryTransformer(ChatMemory chatMemory, ChatClient chatClient,
+                                           EgovCompressionNeedClassifier compressionNeedClassifier,
+                                           EgovCompressionHistorySelector historySelector,
+                                           EgovCompressedQueryCacheRepository compressedQueryCache,
+                                           EgovCompressionCircuitBreaker circuitBreaker,
+                                           @Qualifier("queryCompressionExecutor") ThreadPoolTaskExecutor queryCompressionExecutor) {
         this.chatMemory = chatMemory;
-        this.chatClient = chatClient;
+        this.compressionNeedClassifier = compressionNeedClassifier;
+        this.historySelector = historySelector;
+        this.compressedQueryCache = compressedQueryCache;
+        this.circuitBreaker = circuitBreaker;
+        this.queryCompressionExecutor = queryCompressionExecutor;
+        this.compressionTransformer = CompressionQueryTransformer.builder()
+            .chatClientBuilder(chatClient.mutate()
+                .defaultOptions(ChatOptions.builder()
+                    .temperature(0.0)
+                    .build()))
+            .promptTemplate(new PromptTemplate(COMPRESSION_PROMPT))
+            .build();
     }
 
     
@@ -51,7 +142,8 @@ public class EgovCompressionQueryTransformer {
         // 세션 히스토리 조회
         List<Message> conversationHistory;
         try {
-            conversationHistory = chatMemory.get(sessionId);
+            // 이미 저장된 현재 질문은 제외하여 어드바이저/시맨틱 캐시 경로와 재시도가 같은 히스토리를 사용하도록 함
+            conversationHistory = EgovCompressionHistorySelector.withoutCurrentQuestion(chatMemory.get(sessionId), originalQuery);
             
             if (conversationHistory.isEmpty()) {
                 log.info("대화 히스토리가 없음: {}", sessionId);
@@ -64,11 +156,36 @@ public class EgovCompressionQueryTransformer {
             log.warn("세션 {} 히스토리 조회 중 오류 발생 - 히스토리 압축 건너뛰기: {}", sessionId, e.getMessage());
             return query;
         }
+
+        // 독립적인 질문이면 LLM 압축 없이 원본 질문으로 바로 검색
+        if (!compressionNeedClassifier.needsCompression(originalQuery, conversationHistory)) {
+            return query;
+        }
+
+        // 압축 프롬프트에는 토큰 예산 안의 최근 히스토리만 사용
+        List<Message> compressionHistory = historySelector.select(conversationHistory);
+
+        // 같은 히스토리에서 같은 질문을 이미 압축했다면 모델 호출 없이 재사용
+        Optional<String> cachedCompression = compressedQueryCache.find(compressionHistory, originalQuery);
+        if (cachedCompression.isPresent()) {
+            log.info("압축 결과 캐시 적중: '{}' → '{}'", originalQuery, cachedCompression.get());
+            return Query.builder()
+                .text(cachedCompression.get())
+                .history(conversationHistory)
+                .context(query.context())
+                .build();
+        }
+
+        // 압축 지연이 계속되는 동안에는 원본 질문으로 바로 검색
+        if (!circuitBreaker.allowRequest()) {
+            log.info("질문 압축 서킷 열림 - 원본 질문 사용: {}", originalQuery);
+            return query;
+        }
         
         // 대화 히스토리 분석 및 로깅
-        log.info("대화 히스토리 분석 시작 - {} 개 메시지", conversationHistory.size());
-        for (int i = 0; i < conversationHistory.size(); i++) {
-            Message msg = conversationHistory.get(i);
+        log.info("대화 히스토리 분석 시작 - 압축용 {} 개 메시지 (전체 {} 개)", compressionHistory.size(), conversationHistory.size());
+        for (int i = 0; i < compressionHistory.size(); i++) {
+            Message msg = compressionHistory.get(i);
             String content = msg.getText();
             String preview = content.length() > 100 ? content.substring(0, 100) + "..." : content;
             log.info("히스토리 {}: {} - {}", i + 1, msg.getClass().getSimpleName(), preview);
@@ -77,63 +194,13 @@ public class EgovCompressionQueryTransformer {
         // 대화 히스토리를 Query 객체로 변환
         Query queryWithHistory = Query.builder()
             .text(query.text())
-            .history(conversationHistory)
-            .build();
-
-        // Spring AI의 CompressionQueryTransformer를 커스텀 프롬프트로 사용
-        // 중요: {history}와 {query} 플레이스홀더는 필수설정값
-        String customPromptText = """
-            You are a query rewriting assistant. Your ONLY job is to rewrite follow-up questions into standalone questions using conversation history.
-
-            STRICT RULES:
-            - Output ONLY the rewritten question
-            - NO explanations, NO thinking process, NO examples
-            - DO NOT use <think> tags or any XML tags
-            - Keep the SAME language as the original question (Korean → Korean, English → English)
-            - Replace pronouns and references with specific terms from history
-
-            EXAMPLES:
-
-            History:
-            User: React의 주요 기능 3가지는?
-            Assistant: 1. 컴포넌트 기반 2. Virtual DOM 3. 단방향 데이터 흐름
-
-            Follow-up: 두 번째 기능을 설명해줘
-            Rewritten: React의 Virtual DOM 기능을 설명해줘
-
-            ---
-
-            History:
-            User: 전자정부 실행환경에서 aop를 처리하는 방법에 대하여 알려 줘
-            Assistant: [AOP 처리 방법 설명... 1. 프레임워크 지원 2. 설정 방법 3. Pointcut 표현식]
-
-            Follow-up: 세 번째 사항의 예시를 알려 줘
-            Rewritten: 전자정부 실행환경 AOP의 Pointcut 표현식 예시를 알려 줘
-
-            ---
-
-            NOW REWRITE THIS:
-
-            Conversation History:
-            {history}
-
-            Follow-up Question:
-            {query}
-
-            Rewritten Question:""";
-
-        // String을 PromptTemplate 객체로 변환
-        PromptTemplate customPromptTemplate = new PromptTemplate(customPromptText);
-
-        CompressionQueryTransformer compressionTransformer = CompressionQueryTransformer.builder()
-            .chatClientBuilder(chatClient.mutate()
-                .defaultOptions(ChatOptions.builder()
-                    .temperature(0.0)
-                    .build()))
-            .promptTemplate(customPromptTemplate)
+            .history(compressionHistory)
             .build();
 
-        Query compressedQuery = compressionTransformer.transform(queryWithHistory);
+        Query compressedQuery = transformWithTimeout(queryWithHistory);
+        if (compressedQuery == null) {
+            return query;
+        }
         String compressedText = compressedQuery.text();
 
         log.info("압축 후 생성된 질문: '{}'", compressedText);
@@ -161,17 +228,72 @@ public class EgovCompressionQueryTransformer {
         }
 
         log.info("최종 압축된 질문: '{}'", compressedText);
+        compressedQueryCache.save(compressionHistory, originalQuery, compressedText);
 
         // 정리된 텍스트로 Query 재생성
         // history를 유지하여 downstream RAG 컴포넌트가 맥락을 활용할 수 있도록 함
         Query finalQuery = Query.builder()
             .text(compressedText)
             .history(conversationHistory)  // 히스토리 보존
+            .context(query.context())  // 어드바이저 컨텍스트 보존
             .build();
 
         return finalQuery;
     }
     
+    /**
+     * 제한 시간 안에 압축을 수행하고 지연 시간을 서킷 브레이커에 기록
+     * 실행기가 포화되어 작업이 거부되면 요청 스레드에서 실행하지 않고 바로 원본 질문을 사용
+     * 제한 시간을 넘긴 작업은 스레드를 인터럽트하여 모델 호출을 중단하고,
+     * 중단되지 않고 남아 있는 호출이 모든 스레드를 차지하고 있으면 대기열에 넣지 않고 바로 원본 질문을 사용
+     *
+     * @return 압축된 질문 (제한 시간 초과, 거부 또는 실패 시 null)
+     */
+    private Query transformWithTimeout(Query queryWithHistory) {
+        long startTime = System.currentTimeMillis();
+        boolean recorded = false;
+        try {
+            if (queryCompressionExecutor.getActiveCount() >= queryCompressionExecutor.getMaxPoolSize()) {
+                log.warn("질문 압축 스레드가 모두 사용 중 (이전 호출 {}개 진행 중) - 원본 질문 사용",
+                        queryCompressionExecutor.getActiveCount());
+                return null;
+            }
+
+            // CompletableFuture.cancel은 실행 중인 작업을 인터럽트하지 않으므로 실제 작업 핸들(FutureTask) 사용
+            Future<Query> future = queryCompressionExecutor.submit(() -> compressionTransformer.transform(queryWithHistory));
+
+            try {
+                Query compressedQuery = future.get(compressionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                circuitBreaker.record(System.currentTimeMillis() - startTime, false);
+                recorded = true;
+                return compressedQuery;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                circuitBreaker.record(compressionTimeout.toMillis(), true);
+                recorded = true;
+                log.warn("질문 압축 제한 시간 {}ms 초과 - 원본 질문 사용", compressionTimeout.toMillis());
+                return null;
+            } catch (ExecutionException e) {
+                circuitBreaker.record(System.currentTimeMillis() - startTime, false);
+                recorded = true;
+                log.warn("질문 압축 실패 - 원본 질문 사용: {}", e.getCause().getMessage());
+                return null;
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        } catch (RejectedExecutionException e) {
+            log.warn("질문 압축 실행기 포화 - 원본 질문 사용");
+            return null;
+        } finally {
+            // 지연 시간을 기록하지 못한 경우에도 시험 요청 상태가 남지 않도록 해제
+            if (!recorded) {
+                circuitBreaker.releaseProbe();
+            }
+        }
+    }
+
     /**
      * 생성된 텍스트가 답변처럼 보이는지 확인
      * 코드 블록, 예시 패턴 등이 포함되어 있으면 답변으로 판단
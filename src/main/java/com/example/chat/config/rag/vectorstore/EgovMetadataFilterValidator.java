@@ -0,0 +1,63 @@
+package com.example.chat.config.rag.vectorstore;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+import org.springframework.ai.vectorstore.redis.RedisVectorStore.MetadataField;
+
+/**
+ * 요청으로 받은 메타데이터 필터 식 검증
+ * 색인되지 않은 필드 이름은 RediSearch 쿼리 오류로 검색 단계에서야 실패하므로 검색 전에 거부함
+ */
+public class EgovMetadataFilterValidator {
+
+    /**
+     * 필터 식을 파싱하고 사용한 필드가 모두 색인된 메타데이터 필드인지 확인
+     *
+     * @param filter 필터 식 (예: "source == 'manual.pdf'")
+     * @param metadataFields 벡터 인덱스에 색인된 메타데이터 필드
+     * @return 파싱된 필터 식
+     * @throws IllegalArgumentException 식이 잘못되었거나 색인되지 않은 필드를 사용한 경우
+     */
+    public static Filter.Expression validate(String filter, List<MetadataField> metadataFields) {
+        Filter.Expression expression;
+        try {
+            expression = new FilterExpressionTextParser().parse(filter);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 필터 식: " + filter, e);
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        collectKeys(expression, keys);
+
+        List<String> allowed = metadataFields.stream().map(MetadataField::name).toList();
+        List<String> unknown = keys.stream().filter(key -> !allowed.contains(key)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("필터에 사용할 수 없는 필드: " + unknown + " (사용 가능: " + allowed + ")");
+        }
+        return expression;
+    }
+
+    private static void collectKeys(Filter.Operand operand, Set<String> keys) {
+        if (operand instanceof Filter.Expression expression) {
+            collectKeys(expression.left(), keys);
+            if (expression.right() != null) {
+                collectKeys(expression.right(), keys);
+            }
+        } else if (operand instanceof Filter.Group group) {
+            collectKeys(group.content(), keys);
+        } else if (operand instanceof Filter.Key key) {
+            keys.add(unquote(key.key()));
+        }
+    }
+
+    private static String unquote(String key) {
+        if (key.length() >= 2 && (key.startsWith("'") && key.endsWith("'") || key.startsWith("\"") && key.endsWith("\""))) {
+            return key.substring(1, key.length() - 1);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,458 @@
+package com.example.chat.config.rag.vectorstore;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.redis.RedisFilterExpressionConverter;
+import org.springframework.ai.vectorstore.redis.RedisVectorStore;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.json.Path2;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.search.FTCreateParams;
+import redis.clients.jedis.search.FieldName;
+import redis.clients.jedis.search.IndexDataType;
+import redis.clients.jedis.search.Query;
+import redis.clients.jedis.search.SearchResult;
+import redis.clients.jedis.search.schemafields.NumericField;
+import redis.clients.jedis.search.schemafields.SchemaField;
+import redis.clients.jedis.search.schemafields.TagField;
+import redis.clients.jedis.search.schemafields.TextField;
+import redis.clients.jedis.search.schemafields.VectorField;
+import redis.clients.jedis.search.schemafields.VectorField.VectorAlgorithm;
+
+/**
+ * 벡터 필드 저장 방식을 설정할 수 있는 RedisVectorStore
+ * 인덱스 알고리즘(HNSW/FLAT), HNSW 파라미터(M, EF_CONSTRUCTION, EF_RUNTIME),
+ * 벡터 자료형(FLOAT32/FLOAT16/BFLOAT16)을 지정하여 인덱스를 직접 생성함
+ * FLOAT32가 아닌 자료형은 질문 벡터도 같은 자료형으로 변환하여 KNN 검색을 수행함
+ */
+@Slf4j
+public class EgovRedisVectorStore extends RedisVectorStore {
+
+    private static final String CONTENT_FIELD = "content";
+    private static final String EMBEDDING_FIELD = "embedding";
+    private static final String DISTANCE_FIELD = "vector_score";
+    private static final String QUERY_VECTOR_PARAM = "BLOB";
+
+    private final String indexName;
+    private final String prefix;
+    private final List<MetadataField> metadataFields;
+    private final boolean createIndex;
+    private final VectorIndexOptions indexOptions;
+    private final RedisFilterExpressionConverter filterExpressionConverter;
+
+    public EgovRedisVectorStore(Builder builder, String indexName, String prefix, List<MetadataField> metadataFields,
+                                boolean createIndex, VectorIndexOptions indexOptions) {
+        // 인덱스는 부모 클래스가 아닌 이 클래스에서 설정값에 따라 생성
+        super(builder.indexName(indexName).prefix(prefix).metadataFields(metadataFields).initializeSchema(false));
+        this.indexName = indexName;
+        this.prefix = prefix;
+        this.metadataFields = metadataFields;
+        this.createIndex = createIndex;
+        this.indexOptions = indexOptions;
+        this.filterExpressionConverter = new RedisFilterExpressionConverter(metadataFields);
+    }
+
+    public VectorIndexOptions getIndexOptions() {
+        return indexOptions;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!createIndex) {
+            verifyExistingSchema();
+            return;
+        }
+
+        if (getJedis().ftList().contains(indexName)) {
+            log.info("벡터 인덱스 '{}'가 이미 존재함 - 설정 변경을 적용하려면 인덱스 삭제 후 재인덱싱 필요", indexName);
+            verifyExistingSchema();
+            return;
+        }
+
+        List<SchemaField> fields = new ArrayList<>();
+        fields.add(TextField.of(fieldPath(CONTENT_FIELD)).as(CONTENT_FIELD).weight(1.0));
+        fields.add(VectorField.builder()
+                .fieldName(fieldPath(EMBEDDING_FIELD))
+                .algorithm(indexOptions.algorithm())
+                .attributes(vectorAttributes())
+                .as(EMBEDDING_FIELD)
+                .build());
+        for (MetadataField field : metadataFields) {
+            fields.add(switch (field.fieldType()) {
+                case TAG -> TagField.of(fieldPath(field.name())).as(field.name());
+                case NUMERIC -> NumericField.of(fieldPath(field.name())).as(field.name());
+                case TEXT -> TextField.of(fieldPath(field.name())).as(field.name());
+                default -> throw new IllegalArgumentException("지원하지 않는 메타데이터 필드 유형: " + field.fieldType());
+            });
+        }
+
+        String response = getJedis().ftCreate(indexName,
+                FTCreateParams.createParams().on(IndexDataType.JSON).addPrefix(prefix), fields);
+        log.info("벡터 인덱스 '{}' 생성 ({}): {}", indexName, indexOptions, response);
+    }
+
+    /**
+     * 기존 인덱스에 설정된 메타데이터 필드가 모두 있는지 확인
+     * 필드가 추가되기 전에 만든 인덱스는 해당 필드로 필터링/조회할 수 없으므로 재인덱싱이 필요함을 경고
+     */
+    private void verifyExistingSchema() {
+        try {
+            if (!getJedis().ftList().contains(indexName)) {
+                log.warn("벡터 인덱스 '{}'가 없음 - 인덱스 생성 설정이 꺼져 있으면 검색이 실패함", indexName);
+                return;
+            }
+
+            Set<String> indexedFields = indexedFieldNames(getJedis().ftInfo(indexName));
+            List<String> missingFields = new ArrayList<>();
+            for (String field : requiredFieldNames()) {
+                if (!indexedFields.contains(field)) {
+                    missingFields.add(field);
+                }
+            }
+
+            if (!missingFields.isEmpty()) {
+                log.warn("벡터 인덱스 '{}'에 설정된 필드 {}가 없음 - 해당 필드 필터/조회가 동작하지 않으므로 인덱스 삭제 후 재인덱싱 필요",
+                        indexName, missingFields);
+            }
+        } catch (Exception e) {
+            log.warn("벡터 인덱스 '{}' 스키마 확인 실패", indexName, e);
+        }
+    }
+
+    private List<String> requiredFieldNames() {
+        List<String> names = new ArrayList<>(List.of(CONTENT_FIELD, EMBEDDING_FIELD));
+        metadataFields.forEach(field -> names.add(field.name()));
+        return names;
+    }
+
+    /**
+     * FT.INFO 응답의 attributes 목록에서 필드 별칭(attribute) 추출
+     */
+    private Set<String> indexedFieldNames(Map<String, Object> info) {
+        Set<String> names = new HashSet<>();
+        if (!(info.get("attributes") instanceof List<?> attributes)) {
+            return names;
+        }
+
+        for (Object attribute : attributes) {
+            if (!(attribute instanceof List<?> properties)) {
+                continue;
+            }
+            for (int i = 0; i + 1 < properties.size(); i++) {
+                if ("attribute".equals(asString(properties.get(i)))) {
+                    names.add(asString(properties.get(i + 1)));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String asString(Object value) {
+        return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    /**
+     * 저장된 청크 문서의 메타데이터 필드 하나를 다시 임베딩하지 않고 갱신 (JSON.SET 파이프라인)
+     *
+     * @param field 메타데이터 필드 이름
+     * @param valuesById 청크 ID별 값
+     */
+    public void updateMetadata(String field, Map<String, ?> valuesById) {
+        if (valuesById.isEmpty()) {
+            return;
+        }
+
+        try (var pipeline = getJedis().pipelined()) {
+            Path2 path = Path2.of(fieldPath(field));
+            valuesById.forEach((id, value) -> pipeline.jsonSet(prefix + id, path, value));
+            pipeline.sync();
+        }
+    }
+
+    /**
+     * JSON 문서 필드 경로
+     */
+    private static String fieldPath(String fieldName) {
+        return "$." + fieldName;
+    }
+
+    /**
+     * FLOAT32 인덱스는 기본 구현을 사용하고, 그 외 자료형은 질문 벡터를 인덱스 자료형으로 변환하여 검색
+     */
+    @Override
+    public List<Document> doSimilaritySearch(SearchRequest request) {
+        if (indexOptions.dataType() == VectorDataType.FLOAT32) {
+            return super.doSimilaritySearch(request);
+        }
+
+        String filter = request.hasFilterExpression()
+                ? filterExpressionConverter.convertExpression(request.getFilterExpression())
+                : "*";
+        String queryString = String.format("(%s)=>[KNN %d @%s $%s AS %s]",
+                filter, request.getTopK(), EMBEDDING_FIELD, QUERY_VECTOR_PARAM, DISTANCE_FIELD);
+
+        List<String> returnFields = new ArrayList<>();
+        metadataFields.stream().map(MetadataField::name).forEach(returnFields::add);
+        returnFields.add(CONTENT_FIELD);
+        returnFields.add(DISTANCE_FIELD);
+
+        float[] embedding = this.embeddingModel.embed(request.getQuery());
+        Query query = new Query(queryString)
+                .addParam(QUERY_VECTOR_PARAM, encode(embedding))
+                .returnFields(returnFields.toArray(String[]::new))
+                .setSortBy(DISTANCE_FIELD, true)
+                .limit(0, request.getTopK())
+                .dialect(2);
+
+        SearchResult result = getJedis().ftSearch(indexName, query);
+        return result.getDocuments().stream()
+                .filter(document -> similarityScore(document) >= request.getSimilarityThreshold())
+                .map(this::toDocument)
+                .toList();
+    }
+
+    /**
+     * 지정한 메타데이터 필드가 없는 청크 ID 조회 (SCAN + JSON.GET 파이프라인)
+     * 인덱스 스키마와 무관하게 키를 직접 확인하므로 이전 버전에서 저장한 청크를 찾는 데 사용
+     *
+     * @param field 메타데이터 필드 이름
+     * @return 필드가 없는 청크 ID (키 접두어 제외)
+     */
+    public List<String> findIdsWithoutField(String field) {
+        List<String> ids = new ArrayList<>();
+        Path2 path = Path2.of(fieldPath(field));
+        ScanParams scanParams = new ScanParams().match(prefix + "*").count(1000);
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            ScanResult<String> scanResult = getJedis().scan(cursor, scanParams);
+            List<String> keys = scanResult.getResult();
+            if (!keys.isEmpty()) {
+                List<Response<Object>> values = new ArrayList<>(keys.size());
+                try (var pipeline = getJedis().pipelined()) {
+                    keys.forEach(key -> values.add(pipeline.jsonGet(key, path)));
+                    pipeline.sync();
+                }
+                for (int i = 0; i < keys.size(); i++) {
+                    Object value = values.get(i).get();
+                    // JSONPath 결과가 빈 배열이면 필드 없음
+                    if (value == null || "[]".equals(String.valueOf(value))) {
+                        ids.add(keys.get(i).substring(prefix.length()));
+                    }
+                }
+            }
+            cursor = scanResult.getCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+        return ids;
+    }
+
+    /**
+     * 저장된 원본(float32 JSON 배열) 임베딩 조회 (인덱스 성능 측정의 정확한 KNN 기준용)
+     * 인덱스 자료형과 관계없이 JSON 문서에 저장된 값을 그대로 읽으므로 양자화 손실이 없음
+     *
+     * @param maxVectors 최대 조회 개수
+     * @return 청크 키(검색 결과 ID와 같은 형식)별 임베딩
+     */
+    public Map<String, float[]> loadStoredEmbeddings(int maxVectors) {
+        Map<String, float[]> embeddings = new LinkedHashMap<>();
+        int pageSize = 1000;
+        for (int offset = 0; offset < maxVectors; offset += pageSize) {
+            Query query = new Query("*")
+                    .returnFields(FieldName.of(fieldPath(EMBEDDING_FIELD)).as(EMBEDDING_FIELD))
+                    .limit(offset, Math.min(pageSize, maxVectors - offset))
+                    .dialect(2);
+            List<redis.clients.jedis.search.Document> documents = getJedis().ftSearch(indexName, query).getDocuments();
+            for (redis.clients.jedis.search.Document document : documents) {
+                String json = document.getString(EMBEDDING_FIELD);
+                if (json != null) {
+                    embeddings.put(document.getId(), parseVector(json));
+                }
+            }
+            if (documents.size() < pageSize) {
+                break;
+            }
+        }
+        return embeddings;
+    }
+
+    /**
+     * JSON 숫자 배열 문자열을 float 배열로 변환 ("[0.1,0.2]" 또는 JSONPath 결과 "[[0.1,0.2]]")
+     */
+    private static float[] parseVector(String json) {
+        String[] values = json.replace("[", "").replace("]", "").split(",");
+        float[] vector = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            vector[i] = Float.parseFloat(values[i].trim());
+        }
+        return vector;
+    }
+
+    /**
+     * 질문 벡터로 KNN 검색하여 청크 ID만 조회 (인덱스 성능 측정용)
+     *
+     * @param embedding 질문 벡터
+     * @param topK 조회할 개수
+     * @param efRuntime HNSW 검색 후보 수 (null이면 인덱스 설정값, FLAT 인덱스에서는 무시)
+     */
+    public List<String> searchIds(float[] embedding, int topK, Integer efRuntime) {
+        String efClause = efRuntime != null && indexOptions.algorithm() == VectorAlgorithm.HNSW
+                ? " EF_RUNTIME " + efRuntime
+                : "";
+        Query query = new Query(String.format("*=>[KNN %d @%s $%s%s AS %s]",
+                topK, EMBEDDING_FIELD, QUERY_VECTOR_PARAM, efClause, DISTANCE_FIELD))
+                .addParam(QUERY_VECTOR_PARAM, encode(embedding))
+                .returnFields(DISTANCE_FIELD)
+                .setSortBy(DISTANCE_FIELD, true)
+                .limit(0, topK)
+                .dialect(2);
+
+        return getJedis().ftSearch(indexName, query).getDocuments().stream()
+                .map(redis.clients.jedis.search.Document::getId)
+                .toList();
+    }
+
+    private Document toDocument(redis.clients.jedis.search.Document document) {
+        String id = document.getId().startsWith(prefix) ? document.getId().substring(prefix.length()) : document.getId();
+        Map<String, Object> metadata = new HashMap<>();
+        for (MetadataField field : metadataFields) {
+            if (document.hasProperty(field.name())) {
+                metadata.put(field.name(), document.getString(field.name()));
+            }
+        }
+        double score = similarityScore(document);
+        metadata.put(DISTANCE_FIELD, 1 - score);
+        metadata.put("distance", 1 - score);
+
+        return Document.builder()
+                .id(id)
+                .text(document.hasProperty(CONTENT_FIELD) ? document.getString(CONTENT_FIELD) : "")
+                .metadata(metadata)
+                .score(score)
+                .build();
+    }
+
+    /**
+     * 코사인 거리(0~2)를 유사도(0~1)로 변환 (기본 RedisVectorStore와 같은 방식)
+     */
+    private double similarityScore(redis.clients.jedis.search.Document document) {
+        return (2 - Double.parseDouble(document.getString(DISTANCE_FIELD))) / 2;
+    }
+
+    private Map<String, Object> vectorAttributes() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("TYPE", indexOptions.dataType().name());
+        attributes.put("DIM", this.embeddingModel.dimensions());
+        attributes.put("DISTANCE_METRIC", "COSINE");
+        if (indexOptions.algorithm() == VectorAlgorithm.HNSW) {
+            attributes.put("M", indexOptions.m());
+            attributes.put("EF_CONSTRUCTION", indexOptions.efConstruction());
+            attributes.put("EF_RUNTIME", indexOptions.efRuntime());
+        }
+        return attributes;
+    }
+
+    /**
+     * 질문 벡터를 인덱스 자료형의 little-endian 바이트 배열로 변환
+     */
+    private byte[] encode(float[] embedding) {
+        if (indexOptions.dataType() == VectorDataType.FLOAT32) {
+            ByteBuffer buffer = ByteBuffer.allocate(embedding.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (float value : embedding) {
+                buffer.putFloat(value);
+            }
+            return buffer.array();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(embedding.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : embedding) {
+            buffer.putShort(indexOptions.dataType() == VectorDataType.BFLOAT16 ? toBfloat16(value) : toFloat16(value));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * IEEE 754 반정밀도(binary16) 변환 (가장 가까운 값으로 반올림)
+     */
+    static short toFloat16(float value) {
+        int bits = Float.floatToIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int exponent = ((bits >>> 23) & 0xff) - 127 + 15;
+        int mantissa = bits & 0x7fffff;
+
+        if (exponent >= 0x1f) {
+            // 범위 초과 또는 NaN/무한대
+            return (short) (sign | 0x7c00 | (((bits >>> 23) & 0xff) == 0xff && mantissa != 0 ? 0x200 : 0));
+        }
+        if (exponent <= 0) {
+            // 비정규화 수 또는 0
+            if (exponent < -10) {
+                return (short) sign;
+            }
+            mantissa |= 0x800000;
+            int shift = 14 - exponent;
+            int rounded = (mantissa + (1 << (shift - 1))) >> shift;
+            return (short) (sign | rounded);
+        }
+
+        int rounded = mantissa + 0x1000;
+        if ((rounded & 0x800000) != 0) {
+            rounded = 0;
+            exponent++;
+            if (exponent >= 0x1f) {
+                return (short) (sign | 0x7c00);
+            }
+        }
+        return (short) (sign | (exponent << 10) | (rounded >> 13));
+    }
+
+    /**
+     * bfloat16 변환 (float32 상위 16비트, 가장 가까운 짝수로 반올림)
+     */
+    static short toBfloat16(float value) {
+        int bits = Float.floatToIntBits(value);
+        int rounding = 0x7fff + ((bits >>> 16) & 1);
+        return (short) ((bits + rounding) >>> 16);
+    }
+
+    /**
+     * 벡터 필드 자료형 (TYPE 속성)
+     */
+    public enum VectorDataType {
+        FLOAT32, FLOAT16, BFLOAT16;
+
+        public static VectorDataType from(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * 벡터 인덱스 설정
+     *
+     * @param algorithm HNSW 또는 FLAT
+     * @param dataType 벡터 자료형
+     * @param m HNSW 노드당 최대 연결 수
+     * @param efConstruction HNSW 그래프 생성 시 후보 수
+     * @param efRuntime HNSW 검색 시 후보 수
+     */
+    public record VectorIndexOptions(VectorAlgorithm algorithm, VectorDataType dataType,
+                                     int m, int efConstruction, int efRuntime) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.chat.config.rag.vectorstore;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.redis.RedisVectorStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.search.Query;
+
+/**
+ * 현재 벡터 인덱스 설정의 recall / 지연 시간 / 메모리 측정
+ * 저장된 청크 일부를 질문으로 사용하여 설정된 인덱스 검색 결과와
+ * JSON 문서에 저장된 float32 임베딩 전체에 대한 코사인 유사도 전수 비교(정확한 KNN) 결과를 비교함
+ * 정답이 인덱스 자료형과 무관하므로 FLOAT16/BFLOAT16 양자화와 HNSW 근사로 잃는 recall이 모두 드러남
+ * 설정(rag.vector-index.*)을 바꿔 재인덱싱한 뒤 다시 실행하여 모드별 결과를 비교
+ * 운영 인덱스에 검색을 반복 실행하므로 benchmark.enabled=true인 경우에만 등록
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "benchmark.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class EgovVectorIndexBenchmark {
+
+    private static final int SAMPLE_QUERY_CHARS = 200;
+    // 전수 비교에 사용할 최대 저장 벡터 수 (넘으면 일부 벡터만으로 정답을 계산하므로 결과에 표시)
+    private static final int MAX_REFERENCE_VECTORS = 50_000;
+
+    private final RedisVectorStore redisVectorStore;
+    private final EmbeddingModel embeddingModel;
+
+    /**
+     * 벤치마크 실행
+     *
+     * @param sampleSize 질문으로 사용할 청크 수
+     * @param topK 비교할 검색 결과 수
+     * @return 인덱스 설정, recall@K, 평균/p95 지연 시간(ms), 인덱스 메모리
+     */
+    public Map<String, Object> run(int sampleSize, int topK) {
+        if (!(redisVectorStore instanceof EgovRedisVectorStore vectorStore)) {
+            throw new IllegalStateException("EgovRedisVectorStore가 아닌 벡터 저장소는 측정할 수 없습니다.");
+        }
+
+        List<String> sampleQueries = sampleQueries(vectorStore, sampleSize);
+        Map<String, float[]> referenceVectors = normalizeAll(vectorStore.loadStoredEmbeddings(MAX_REFERENCE_VECTORS + 1));
+        boolean partialReference = referenceVectors.size() > MAX_REFERENCE_VECTORS;
+
+        List<Long> latencyNanos = new ArrayList<>();
+        double recallSum = 0;
+
+        for (String sampleQuery : sampleQueries) {
+            float[] embedding = embeddingModel.embed(sampleQuery);
+
+            long startTime = System.nanoTime();
+            List<String> approximate = vectorStore.searchIds(embedding, topK, null);
+            latencyNanos.add(System.nanoTime() - startTime);
+
+            Set<String> exactIds = exactTopK(normalize(embedding), referenceVectors, topK);
+            long hits = approximate.stream().filter(exactIds::contains).count();
+            recallSum += exactIds.isEmpty() ? 1.0 : (double) hits / exactIds.size();
+        }
+
+        latencyNanos.sort(Long::compare);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("indexOptions", vectorStore.getIndexOptions().toString());
+        result.put("sampleQueries", sampleQueries.size());
+        result.put("topK", topK);
+        result.put("referenceVectors", referenceVectors.size());
+        result.put("partialReference", partialReference);
+        result.put("recallAtK", sampleQueries.isEmpty() ? null : recallSum / sampleQueries.size());
+        result.put("avgLatencyMs", latencyNanos.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000.0);
+        result.put("p95LatencyMs", latencyNanos.isEmpty()
+                ? 0.0 : latencyNanos.get((int) Math.ceil(latencyNanos.size() * 0.95) - 1) / 1_000_000.0);
+        result.putAll(indexMemory(vectorStore));
+
+        log.info("벡터 인덱스 벤치마크 결과: {}", result);
+        return result;
+    }
+
+    /**
+     * 저장된 float32 벡터 전체와 코사인 유사도를 비교하여 정확한 상위 K개 ID 계산
+     */
+    private Set<String> exactTopK(float[] query, Map<String, float[]> referenceVectors, int topK) {
+        PriorityQueue<Map.Entry<String, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<String, float[]> entry : referenceVectors.entrySet()) {
+            float[] vector = entry.getValue();
+            if (vector.length != query.length) {
+                continue;
+            }
+            double similarity = 0;
+            for (int i = 0; i < vector.length; i++) {
+                similarity += query[i] * vector[i];
+            }
+            top.offer(Map.entry(entry.getKey(), similarity));
+            if (top.size() > topK) {
+                top.poll();
+            }
+        }
+
+        Set<String> ids = new HashSet<>();
+        top.forEach(entry -> ids.add(entry.getKey()));
+        return ids;
+    }
+
+    private Map<String, float[]> normalizeAll(Map<String, float[]> vectors) {
+        vectors.replaceAll((id, vector) -> normalize(vector));
+        return vectors;
+    }
+
+    /**
+     * 단위 벡터로 정규화 (내적이 코사인 유사도가 되도록)
+     */
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+        if (norm == 0) {
+            return vector;
+        }
+
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+    /**
+     * 저장된 청크 앞부분을 질문으로 사용
+     */
+    private List<String> sampleQueries(EgovRedisVectorStore vectorStore, int sampleSize) {
+        Query query = new Query("*").returnFields("content").limit(0, sampleSize).dialect(2);
+        List<String> queries = new ArrayList<>();
+        for (redis.clients.jedis.search.Document document :
+                vectorStore.getJedis().ftSearch(vectorStore.getIndexName(), query).getDocuments()) {
+            String content = document.getString("content");
+            if (content != null && !content.isBlank()) {
+                queries.add(content.length() > SAMPLE_QUERY_CHARS ? content.substring(0, SAMPLE_QUERY_CHARS) : content);
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * FT.INFO의 문서 수와 인덱스 메모리 항목
+     */
+    private Map<String, Object> indexMemory(EgovRedisVectorStore vectorStore) {
+        Map<String, Object> info = vectorStore.getJedis().ftInfo(vectorStore.getIndexName());
+        Map<String, Object> memory = new LinkedHashMap<>();
+        for (String key : List.of("num_docs", "vector_index_sz_mb", "inverted_sz_mb", "total_index_memory_sz_mb")) {
+            if (info.containsKey(key)) {
+                memory.put(key, String.valueOf(info.get(key)));
+            }
+        }
+        return memory;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.chat.controller;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.chat.config.rag.vectorstore.EgovVectorIndexBenchmark;
+import com.example.chat.repository.codec.EgovChatMessageCodecBenchmark;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 성능 측정용 엔드포인트 (benchmark.enabled=true인 경우에만 등록, 운영 환경에서는 사용하지 않음)
+ * 요청 스레드에서 측정을 실행하므로 파라미터 상한을 넘는 요청은 거부함
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/benchmark")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "benchmark.enabled", havingValue = "true")
+public class EgovBenchmarkController {
+
+    private static final int MAX_CODEC_ITERATIONS = 20000;
+    private static final int MAX_ANSWER_PARAGRAPHS = 64;
+    private static final int MAX_INDEX_SAMPLES = 200;
+    private static final int MAX_INDEX_TOP_K = 50;
+
+    private final EgovChatMessageCodecBenchmark codecBenchmark;
+    private final EgovVectorIndexBenchmark vectorIndexBenchmark;
+
+    /**
+     * 채팅 메시지 직렬화 방식별 메시지당 바이트 수와 인코딩/디코딩 처리량 비교
+     * 저장된 세션 메시지로 측정하며, answerParagraphs는 세션이 없을 때 쓰는 합성 답변의 길이에만 적용됨
+     */
+    @GetMapping("/chat-message-codec")
+    public ResponseEntity<Map<String, Object>> benchmarkMessageCodecs(
+            @RequestParam(value = "iterations", defaultValue = "2000") int iterations,
+            @RequestParam(value = "answerParagraphs", defaultValue = "8") int answerParagraphs) {
+        if (iterations < 1 || iterations > MAX_CODEC_ITERATIONS
+                || answerParagraphs < 1 || answerParagraphs > MAX_ANSWER_PARAGRAPHS) {
+            log.warn("허용 범위를 벗어난 코덱 벤치마크 요청: iterations={}, answerParagraphs={}", iterations, answerParagraphs);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(codecBenchmark.run(iterations, answerParagraphs));
+    }
+
+    /**
+     * 현재 벡터 인덱스 설정의 recall@K, 검색 지연 시간, 인덱스 메모리 측정
+     * rag.vector-index.* 설정을 바꿔 재인덱싱한 뒤 다시 호출하여 모드별로 비교
+     */
+    @GetMapping("/vector-index")
+    public ResponseEntity<Map<String, Object>> benchmarkVectorIndex(
+            @RequestParam(value = "samples", defaultValue = "50") int samples,
+            @RequestParam(value = "topK", defaultValue = "5") int topK) {
+        if (samples < 1 || samples > MAX_INDEX_SAMPLES || topK < 1 || topK > MAX_INDEX_TOP_K) {
+            log.warn("허용 범위를 벗어난 벡터 인덱스 벤치마크 요청: samples={}, topK={}", samples, topK);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(vectorIndexBenchmark.run(samples, topK));
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.chat.controller;
 
 import com.example.chat.dto.ChatSession;
+import com.example.chat.dto.ChatSessionPage;
 import com.example.chat.dto.ChatMessageDto;
+import com.example.chat.dto.ConversationIdPage;
+import com.example.chat.repository.EgovRedisChatMemoryRepository;
 import com.example.chat.service.EgovChatSessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +22,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.stream.Collectors;
@@ -32,7 +36,10 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class EgovChatSessionController {
 
+    private static final int MAX_SESSION_PAGE_SIZE = 200;
+
     private final EgovChatSessionService chatSessionService;
+    private final EgovRedisChatMemoryRepository chatMemoryRepository;
 
     @PostMapping
     public ResponseEntity<ChatSession> createNewSession() {
@@ -46,12 +53,25 @@ public class EgovChatSessionController {
         }
     }
 
+    /**
+     * 세션 목록을 마지막 메시지 시간 최신순으로 페이지 단위 조회
+     * 응답의 nextCursor를 다음 요청의 cursor로 전달하며, nextCursor가 null이면 마지막 페이지
+     */
     @GetMapping
-    public ResponseEntity<List<ChatSession>> getAllSessions() {
+    public ResponseEntity<ChatSessionPage> getSessions(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "30") int limit) {
+        if (limit < 1 || limit > MAX_SESSION_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
         try {
-            List<ChatSession> sessions = chatSessionService.getAllSessions();
-            log.debug("세션 목록 조회: {} 개", sessions.size());
-            return ResponseEntity.ok(sessions);
+            ChatSessionPage page = chatSessionService.getSessions(cursor, limit);
+            log.debug("세션 목록 조회: {} 개, nextCursor={}", page.getSessions().size(), page.getNextCursor());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            log.warn("잘못된 세션 목록 커서: {}", cursor);
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("세션 목록 조회 실패", e);
             return ResponseEntity.internalServerError().build();
@@ -107,6 +127,22 @@ public class EgovChatSessionController {
         }
     }
 
+    /**
+     * 채팅 메모리가 저장된 대화 ID 목록을 SCAN 커서 단위로 조회
+     * 응답의 nextCursor를 다음 요청의 cursor로 전달하며, nextCursor가 null이면 마지막 페이지
+     */
+    @GetMapping("/conversation-ids")
+    public ResponseEntity<ConversationIdPage> getConversationIds(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "0") int limit) {
+        try {
+            return ResponseEntity.ok(chatMemoryRepository.findConversationIds(cursor, limit));
+        } catch (Exception e) {
+            log.error("대화 ID 목록 조회 실패: cursor={}", cursor, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @PutMapping("/{sessionId}/title")
     public ResponseEntity<Void> updateSessionTitle(
             @PathVariable String sessionId, 
@@ -11,10 +11,15 @@ import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.ollama.OllamaChatModel;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.example.chat.config.EgovRagConfig;
+import com.example.chat.config.rag.vectorstore.EgovMetadataFilterValidator;
 import com.example.chat.context.SessionContext;
 import com.example.chat.response.TechnologyResponse;
 import com.example.chat.service.EgovChatSessionService;
@@ -57,13 +62,25 @@ public class EgovOllamaChatController {
 
     /**
      * RAG 기반 스트리밍 응답 생성
+     * filter: 메타데이터 필터 식 (예: "source == 'manual.pdf'", "type == 'pdf' && upload_date >= 1735689600000")
      */
     @GetMapping("/ai/rag/stream")
     public Flux<ChatResponse> streamRagResponse(
             @RequestParam(value = "message", defaultValue = "Tell me about this document") String message,
             @RequestParam(value = "model", required = false) String model,
-            @RequestParam(value = "sessionId", required = false) String sessionId) {
-        log.info("RAG 기반 스트리밍 질의 수신: {}, 모델: {}, 세션: {}", message, model, sessionId);
+            @RequestParam(value = "sessionId", required = false) String sessionId,
+            @RequestParam(value = "filter", required = false) String filter) {
+        log.info("RAG 기반 스트리밍 질의 수신: {}, 모델: {}, 세션: {}, 필터: {}", message, model, sessionId, filter);
+
+        // 잘못된 필터 식이나 색인되지 않은 필드는 스트리밍 시작 전에 400 응답
+        if (StringUtils.hasText(filter)) {
+            try {
+                EgovMetadataFilterValidator.validate(filter, EgovRagConfig.METADATA_FIELDS);
+            } catch (IllegalArgumentException e) {
+                log.warn("잘못된 RAG 필터 요청: {}", e.getMessage());
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
         
         // 세션 컨텍스트 설정
         if (sessionId != null && !sessionId.isEmpty()) {
@@ -97,7 +114,7 @@ public class EgovOllamaChatController {
         String currentSessionId = SessionContext.getCurrentSessionId();
         log.debug("현재 세션 컨텍스트 설정됨: {}", currentSessionId);
         
-        return sessionAwareChatService.streamRagResponse(message, model)
+        return sessionAwareChatService.streamRagResponse(message, model, filter)
                 .doFinally(signalType -> {
                     // 스트리밍 완료 후 컨텍스트 정리
                     SessionContext.clear();
@@ -0,0 +1,19 @@
+package com.example.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 채팅 세션 목록 한 페이지 (마지막 메시지 시간 최신순)
+ * nextCursor를 다음 요청의 cursor로 전달하며, null이면 마지막 페이지
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSessionPage {
+    private List<ChatSession> sessions;
+    private String nextCursor;
+}
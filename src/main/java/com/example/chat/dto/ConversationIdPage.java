@@ -0,0 +1,19 @@
+package com.example.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 대화 ID 목록 한 페이지 (SCAN 커서 기반)
+ * nextCursor가 null이면 마지막 페이지이며, SCAN 특성상 같은 ID가 여러 페이지에 나올 수 있음
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationIdPage {
+    private List<String> conversationIds;
+    private String nextCursor;
+}
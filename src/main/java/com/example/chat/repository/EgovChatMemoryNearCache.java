@@ -0,0 +1,193 @@
+package com.example.chat.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 세션별 최근 채팅 메모리를 노드 메모리에 보관하는 근거리 캐시 (List 저장 방식 전용)
+ * 한 요청 안에서 제목 처리, MessageChatMemoryAdvisor, 질문 압축이 같은 세션 메모리를 여러 번 읽으므로
+ * 첫 조회만 Redis에서 읽고 이후 조회와 추가는 캐시에서 처리함 (추가는 Redis 저장 후 캐시에도 반영)
+ *
+ * 다른 노드의 변경은 Redis Pub/Sub 무효화 메시지로 반영함
+ * 변경한 노드는 RPUSH/LTRIM과 같은 파이프라인에서 "노드ID:대화ID"를 발행하고, 다른 노드는 해당 항목을 제거함
+ * (키스페이스 알림은 자기 노드의 변경과 구분할 수 없어 추가할 때마다 캐시가 비워지므로 사용하지 않음)
+ * 무효화 메시지가 유실되는 경우를 대비해 항목은 TTL 이후 다시 읽음
+ */
+@Slf4j
+@Component
+public class EgovChatMemoryNearCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "chat:memory:invalidate";
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // 같은 대화의 로드/추가/무효화 순서를 보장하기 위한 잠금 (synchronized라 재진입 가능)
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Value("${chat.memory.near-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chat.memory.near-cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${chat.memory.near-cache.ttl:5m}")
+    private Duration ttl;
+
+    public EgovChatMemoryNearCache(MeterRegistry meterRegistry) {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.hitCounter = Counter.builder("chat.memory.near-cache.hits")
+            .description("채팅 메모리 근거리 캐시 적중 수")
+            .register(meterRegistry);
+        this.missCounter = Counter.builder("chat.memory.near-cache.misses")
+            .description("채팅 메모리 근거리 캐시 미적중 수 (Redis 조회)")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 최근 메시지 조회 (캐시에 없거나 요청한 개수만큼 보관하지 않았으면 loader로 Redis에서 읽어 저장)
+     *
+     * @param conversationId 대화 ID
+     * @param lastN 조회할 최근 메시지 수
+     * @param loader Redis에서 최근 lastN개를 읽는 함수
+     */
+    public List<Message> get(String conversationId, int lastN, Supplier<List<Message>> loader) {
+        synchronized (lockFor(conversationId)) {
+            Entry entry = entries.get(conversationId);
+            if (entry != null && entry.covers(lastN) && !entry.isExpired(ttl)) {
+                hitCounter.increment();
+                return tail(entry.messages(), lastN);
+            }
+
+            missCounter.increment();
+            List<Message> loaded = loader.get();
+            entries.put(conversationId, new Entry(List.copyOf(loaded), lastN, System.currentTimeMillis()));
+            evictIfFull();
+            return loaded;
+        }
+    }
+
+    /**
+     * Redis 추가와 캐시 반영을 같은 잠금 안에서 수행 (캐시에 없는 대화는 다음 조회 때 읽음)
+     * 잠금 밖에서 Redis에 먼저 추가하면, 그 사이 다른 스레드의 조회가 새 메시지가 포함된 목록을 캐시한 뒤
+     * 같은 메시지가 한 번 더 추가되어 히스토리가 중복될 수 있음
+     *
+     * @param redisWrite Redis 추가 (RPUSH/LTRIM 파이프라인)
+     */
+    public void appendThrough(String conversationId, List<Message> messages, int maxMessages, Runnable redisWrite) {
+        synchronized (lockFor(conversationId)) {
+            redisWrite.run();
+
+            Entry entry = entries.get(conversationId);
+            if (entry == null) {
+                return;
+            }
+
+            List<Message> updated = new ArrayList<>(entry.messages());
+            updated.addAll(messages);
+            int window = Math.min(entry.window(), maxMessages);
+            entries.put(conversationId, new Entry(List.copyOf(tail(updated, window)), window, entry.loadedAt()));
+        }
+    }
+
+    public void invalidate(String conversationId) {
+        synchronized (lockFor(conversationId)) {
+            entries.remove(conversationId);
+        }
+    }
+
+    /**
+     * 다른 노드에 발행할 무효화 메시지
+     */
+    public byte[] invalidationMessage(String conversationId) {
+        return (nodeId + ":" + conversationId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public byte[] invalidationChannel() {
+        return INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지 수신 (자기 노드가 발행한 메시지는 무시)
+     */
+    @Override
+    public void onMessage(org.springframework.data.redis.connection.Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+
+        String conversationId = body.substring(separator + 1);
+        invalidate(conversationId);
+        log.debug("다른 노드의 변경으로 채팅 메모리 캐시 무효화: {}", conversationId);
+    }
+
+    /**
+     * 최대 항목 수를 넘으면 만료된 항목을 먼저, 그래도 넘으면 가장 오래 전에 읽은 항목부터 제거
+     */
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+
+        entries.values().removeIf(entry -> entry.isExpired(ttl));
+        while (entries.size() > maxEntries) {
+            entries.entrySet().stream()
+                .min(Comparator.comparingLong(e -> e.getValue().loadedAt()))
+                .ifPresent(oldest -> entries.remove(oldest.getKey()));
+        }
+    }
+
+    private Object lockFor(String conversationId) {
+        return locks[Math.floorMod(conversationId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static List<Message> tail(List<Message> messages, int lastN) {
+        if (messages.size() <= lastN) {
+            return new ArrayList<>(messages);
+        }
+        return new ArrayList<>(messages.subList(messages.size() - lastN, messages.size()));
+    }
+
+    /**
+     * 대화의 최근 window개 메시지 (대화가 더 짧으면 전체)
+     */
+    private record Entry(List<Message> messages, int window, long loadedAt) {
+
+        boolean covers(int lastN) {
+            return window >= lastN || messages.size() < window;
+        }
+
+        boolean isExpired(Duration ttl) {
+            return System.currentTimeMillis() - loadedAt > ttl.toMillis();
+        }
+    }
+}
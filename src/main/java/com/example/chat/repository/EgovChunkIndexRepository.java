@@ -0,0 +1,95 @@
+package com.example.chat.repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 원본 파일 → 문서 → 청크 관계를 Redis Set으로 관리하는 저장소
+ * 문서가 변경되거나 삭제되었을 때 벡터 저장소에서 더 이상 필요 없는 청크를 찾아 삭제하는 데 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EgovChunkIndexRepository {
+
+    private static final String DOCUMENT_CHUNKS_KEY_PREFIX = "docmeta:chunks:";
+    private static final String FILE_DOCUMENTS_KEY_PREFIX = "docmeta:file-docs:";
+    private static final String FILE_PATHS_KEY = "docmeta:file-paths";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 문서에 속한 청크 ID 목록 조회
+     */
+    public Set<String> findChunkIds(String documentId) {
+        Set<String> chunkIds = stringRedisTemplate.opsForSet().members(DOCUMENT_CHUNKS_KEY_PREFIX + documentId);
+        return chunkIds != null ? chunkIds : new HashSet<>();
+    }
+
+    /**
+     * 문서에 속한 청크 ID 목록을 교체
+     */
+    public void saveChunkIds(String documentId, Collection<String> chunkIds) {
+        String key = DOCUMENT_CHUNKS_KEY_PREFIX + documentId;
+        stringRedisTemplate.delete(key);
+        if (!chunkIds.isEmpty()) {
+            stringRedisTemplate.opsForSet().add(key, chunkIds.toArray(new String[0]));
+        }
+    }
+
+    /**
+     * 문서의 청크 ID 목록 삭제
+     */
+    public void deleteChunkIds(String documentId) {
+        stringRedisTemplate.delete(DOCUMENT_CHUNKS_KEY_PREFIX + documentId);
+    }
+
+    /**
+     * 파일에서 읽은 문서 ID 목록 조회
+     */
+    public Set<String> findDocumentIds(String path) {
+        Set<String> documentIds = stringRedisTemplate.opsForSet().members(FILE_DOCUMENTS_KEY_PREFIX + path);
+        return documentIds != null ? documentIds : new HashSet<>();
+    }
+
+    /**
+     * 파일에서 읽은 문서 ID 목록을 교체하고 파일 경로를 색인에 등록
+     */
+    public void saveDocumentIds(String path, Collection<String> documentIds) {
+        String key = FILE_DOCUMENTS_KEY_PREFIX + path;
+        stringRedisTemplate.delete(key);
+        if (!documentIds.isEmpty()) {
+            stringRedisTemplate.opsForSet().add(key, documentIds.toArray(new String[0]));
+        }
+        stringRedisTemplate.opsForSet().add(FILE_PATHS_KEY, path);
+    }
+
+    /**
+     * 파일의 문서 ID 목록과 파일 경로 색인 삭제
+     */
+    public void deleteFile(String path) {
+        stringRedisTemplate.delete(FILE_DOCUMENTS_KEY_PREFIX + path);
+        stringRedisTemplate.opsForSet().remove(FILE_PATHS_KEY, path);
+    }
+
+    /**
+     * 인덱싱된 모든 파일 경로 조회 (SSCAN 커서 사용으로 Redis를 블로킹하지 않음)
+     */
+    public Set<String> findAllPaths() {
+        Set<String> paths = new HashSet<>();
+        try (Cursor<String> cursor = stringRedisTemplate.opsForSet()
+                .scan(FILE_PATHS_KEY, ScanOptions.scanOptions().count(500).build())) {
+            cursor.forEachRemaining(paths::add);
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.chat.repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.chat.util.EgovDocumentHashUtil;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 질문 압축 결과를 Redis에 저장하는 캐시 저장소
+ * 압축에 사용한 히스토리와 후속 질문의 해시를 키로 사용하므로
+ * 재시도, 새로고침, EventSource 재연결로 같은 질문이 다시 들어오면 모델 호출 없이 바로 반환
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EgovCompressedQueryCacheRepository {
+
+    private static final String KEY_PREFIX = "rag:compression:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${rag.compression.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rag.compression.cache.ttl:1h}")
+    private Duration ttl;
+
+    /**
+     * 저장된 압축 결과 조회
+     *
+     * @param history 압축 프롬프트에 사용하는 히스토리
+     * @param query 후속 질문
+     * @return 압축된 질문 (없으면 빈 값)
+     */
+    public Optional<String> find(List<Message> history, String query) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.ofNullable(stringRedisTemplate.opsForValue().get(keyOf(history, query)));
+        } catch (Exception e) {
+            log.warn("압축 결과 캐시 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 압축 결과 저장
+     */
+    public void save(List<Message> history, String query, String compressedQuery) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            stringRedisTemplate.opsForValue().set(keyOf(history, query), compressedQuery, ttl);
+        } catch (Exception e) {
+            log.warn("압축 결과 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 히스토리(메시지 유형과 내용)와 후속 질문으로 캐시 키 생성
+     */
+    private String keyOf(List<Message> history, String query) {
+        StringBuilder digest = new StringBuilder();
+        for (Message message : history) {
+            digest.append(message.getMessageType().getValue()).append(':')
+                    .append(message.getText()).append('\n');
+        }
+        digest.append("query:").append(query.trim());
+        return KEY_PREFIX + EgovDocumentHashUtil.calculateHash(digest.toString());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.chat.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.chat.util.EgovDocumentHashUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 파일 단위 매니페스트(경로, 크기, 수정 시각, 내용 해시)를 Redis Hash에 저장하는 저장소
+ * 파일을 파싱하기 전에 변경 여부를 판단하여 변경되지 않은 파일은 읽기 자체를 건너뛸 수 있도록 함
+ */
+@Slf4j
+@Component
+public class EgovDocumentManifestRepository {
+
+    private static final String MANIFEST_KEY = "docmeta:files";
+    private static final String FIELD_SEPARATOR = "|";
+
+    private final HashOperations<String, String, String> hashOperations;
+
+    public EgovDocumentManifestRepository(StringRedisTemplate stringRedisTemplate) {
+        this.hashOperations = stringRedisTemplate.opsForHash();
+    }
+
+    /**
+     * 여러 파일의 저장된 매니페스트를 한 번의 HMGET으로 조회
+     *
+     * @param paths 파일 경로 목록
+     * @return 경로 순서와 동일한 매니페스트 목록 (저장된 값이 없으면 null 요소)
+     */
+    public List<FileFingerprint> findAll(List<String> paths) {
+        List<FileFingerprint> fingerprints = new ArrayList<>(paths.size());
+        if (paths.isEmpty()) {
+            return fingerprints;
+        }
+
+        List<String> values = hashOperations.multiGet(MANIFEST_KEY, paths);
+        for (int i = 0; i < paths.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            fingerprints.add(FileFingerprint.decode(paths.get(i), value));
+        }
+        return fingerprints;
+    }
+
+    /**
+     * 파일 매니페스트 저장
+     */
+    public void save(FileFingerprint fingerprint) {
+        hashOperations.put(MANIFEST_KEY, fingerprint.path(), fingerprint.encode());
+        log.debug("파일 매니페스트 저장: {}", fingerprint);
+    }
+
+    /**
+     * 파일 매니페스트 삭제
+     */
+    public void delete(String path) {
+        hashOperations.delete(MANIFEST_KEY, path);
+        log.debug("파일 매니페스트 삭제: {}", path);
+    }
+
+    /**
+     * 리소스의 경로를 매니페스트 키로 사용할 문자열로 변환
+     *
+     * @return 리소스 경로 (확인할 수 없으면 null)
+     */
+    public static String pathOf(Resource resource) {
+        try {
+            return resource.getURL().toString();
+        } catch (IOException e) {
+            log.warn("리소스 경로 확인 실패: {}", resource.getDescription());
+            return null;
+        }
+    }
+
+    /**
+     * 파일 크기와 수정 시각만으로 매니페스트 생성 (내용은 읽지 않음)
+     *
+     * @return 매니페스트 (파일 정보를 확인할 수 없으면 null)
+     */
+    public static FileFingerprint stat(Resource resource) {
+        String path = pathOf(resource);
+        if (path == null) {
+            return null;
+        }
+
+        try {
+            return new FileFingerprint(path, resource.contentLength(), resource.lastModified(), null);
+        } catch (IOException e) {
+            log.warn("파일 정보 확인 실패: {}", resource.getDescription());
+            return null;
+        }
+    }
+
+    /**
+     * 파일 내용의 해시를 계산하여 매니페스트에 추가
+     * 파싱 없이 바이트 스트림만 읽으므로 PDF 파싱보다 훨씬 저렴함
+     */
+    public static FileFingerprint withContentHash(FileFingerprint fingerprint, Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            String contentHash = EgovDocumentHashUtil.calculateHash(inputStream);
+            return new FileFingerprint(fingerprint.path(), fingerprint.size(), fingerprint.lastModified(), contentHash);
+        }
+    }
+
+    /**
+     * 파일 매니페스트
+     *
+     * @param path 파일 경로
+     * @param size 파일 크기 (바이트)
+     * @param lastModified 마지막 수정 시각 (epoch millis)
+     * @param contentHash 파일 내용 해시 (계산 전이면 null)
+     */
+    public record FileFingerprint(String path, long size, long lastModified, String contentHash) {
+
+        /**
+         * 크기와 수정 시각이 동일한지 확인
+         */
+        public boolean hasSameStat(FileFingerprint other) {
+            return other != null && size == other.size && lastModified == other.lastModified;
+        }
+
+        /**
+         * 내용 해시가 동일한지 확인
+         */
+        public boolean hasSameContent(FileFingerprint other) {
+            return other != null && contentHash != null && contentHash.equals(other.contentHash);
+        }
+
+        private String encode() {
+            return size + FIELD_SEPARATOR + lastModified + FIELD_SEPARATOR + (contentHash != null ? contentHash : "");
+        }
+
+        private static FileFingerprint decode(String path, String value) {
+            if (value == null) {
+                return null;
+            }
+
+            String[] parts = value.split("\\|", -1);
+            if (parts.length != 3) {
+                log.warn("잘못된 파일 매니페스트 형식 무시: {} = {}", path, value);
+                return null;
+            }
+
+            try {
+                String contentHash = parts[2].isEmpty() ? null : parts[2];
+                return new FileFingerprint(path, Long.parseLong(parts[0]), Long.parseLong(parts[1]), contentHash);
+            } catch (NumberFormatException e) {
+                log.warn("잘못된 파일 매니페스트 형식 무시: {} = {}", path, value);
+                return null;
+            }
+        }
+    }
+}
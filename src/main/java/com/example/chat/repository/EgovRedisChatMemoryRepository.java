@@ -4,8 +4,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -14,9 +16,18 @@ import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
+import com.example.chat.dto.ConversationIdPage;
+import com.example.chat.repository.codec.EgovChatMessageCodec;
+import com.example.chat.repository.codec.EgovJsonChatMessageCodec;
+
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -24,16 +35,40 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
 
 @Slf4j
 @Component
 public class EgovRedisChatMemoryRepository implements ChatMemoryRepository {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
     private final ObjectMapper objectMapper;
+    private final List<EgovChatMessageCodec> messageCodecs;
+    private final EgovChatMemoryNearCache nearCache;
+
+    // 저장 방식 (list: 메시지 단위 Redis List, string: 대화 전체를 JSON 문자열 하나로 저장)
+    @Value("${chat.memory.storage:list}")
+    private String storageMode;
+
+    // List 저장 방식의 메시지 코덱 (binary, json)
+    @Value("${chat.memory.codec:binary}")
+    private String codecName;
+
+    // 대화 ID 조회 시 SCAN 한 번에 훑을 키 수 (COUNT)
+    @Value("${chat.memory.scan-page-size:500}")
+    private int scanPageSize;
     
-    public EgovRedisChatMemoryRepository(RedisTemplate<String, Object> redisTemplate) {
+    public EgovRedisChatMemoryRepository(RedisTemplate<String, Object> redisTemplate,
+                                         StringRedisTemplate stringRedisTemplate,
+                                         List<EgovChatMessageCodec> messageCodecs,
+                                         EgovChatMemoryNearCache nearCache) {
         this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.messageCodecs = messageCodecs;
+        this.nearCache = nearCache;
         this.objectMapper = new ObjectMapper();
         // Jackson 설정
         this.objectMapper.registerModule(new JavaTimeModule());
@@ -44,9 +79,115 @@ public class EgovRedisChatMemoryRepository implements ChatMemoryRepository {
     }
     
     private static final String CHAT_MEMORY_KEY_PREFIX = "chat:memory:";
+    // 메시지 단위 List 저장 키 (문자열 저장 키와 자료형이 달라 접두어를 분리)
+    private static final String CHAT_MESSAGES_KEY_PREFIX = "chat:messages:";
+
+    public boolean isListStorage() {
+        return "list".equalsIgnoreCase(storageMode);
+    }
+
+    /**
+     * 새 메시지만 List 끝에 추가하고 최근 maxMessages개만 남기도록 자름 (RPUSH + LTRIM 한 번의 파이프라인)
+     * 대화 전체를 다시 쓰지 않으므로 턴당 비용이 대화 길이와 무관하고, 동시에 추가해도 메시지가 유실되지 않음
+     *
+     * @param conversationId 대화 ID
+     * @param messages 새로 추가할 메시지
+     * @param maxMessages 유지할 최대 메시지 수
+     */
+    public void appendAll(String conversationId, List<Message> messages, int maxMessages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        try {
+            byte[] key = listKey(conversationId).getBytes(StandardCharsets.UTF_8);
+            EgovChatMessageCodec codec = writeCodec();
+            byte[][] values = new byte[messages.size()][];
+            for (int i = 0; i < messages.size(); i++) {
+                values[i] = codec.encode(messages.get(i));
+            }
+
+            Runnable redisWrite = () -> stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.listCommands().rPush(key, values);
+                connection.listCommands().lTrim(key, -maxMessages, -1);
+                if (nearCache.isEnabled()) {
+                    connection.publish(nearCache.invalidationChannel(), nearCache.invalidationMessage(conversationId));
+                }
+                return null;
+            });
+
+            // 근거리 캐시를 사용하면 Redis 추가와 캐시 반영을 대화별 잠금 안에서 함께 수행
+            if (nearCache.isEnabled()) {
+                nearCache.appendThrough(conversationId, messages, maxMessages, redisWrite);
+            } else {
+                redisWrite.run();
+            }
+            log.debug("Redis List에 채팅 메시지 추가: {} - {} 개 메시지", conversationId, messages.size());
+        } catch (Exception e) {
+            log.error("채팅 메시지 추가 실패: {}", conversationId, e);
+        }
+    }
+
+    /**
+     * 최근 메시지 N개만 조회 (LRANGE -N -1)
+     *
+     * @param conversationId 대화 ID
+     * @param lastN 조회할 최근 메시지 수
+     */
+    public List<Message> findLastMessages(String conversationId, int lastN) {
+        if (nearCache.isEnabled()) {
+            return nearCache.get(conversationId, lastN, () -> loadLastMessages(conversationId, lastN));
+        }
+        return loadLastMessages(conversationId, lastN);
+    }
+
+    private List<Message> loadLastMessages(String conversationId, int lastN) {
+        try {
+            byte[] key = listKey(conversationId).getBytes(StandardCharsets.UTF_8);
+            List<byte[]> values = stringRedisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.listCommands().lRange(key, -lastN, -1));
+            if (values == null || values.isEmpty()) {
+                return migrateLegacyMessages(conversationId, lastN);
+            }
+
+            List<Message> messages = values.stream()
+                .map(this::decodeMessage)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            log.debug("Redis List에서 채팅 메시지 조회: {} - {} 개 메시지", conversationId, messages.size());
+            return messages;
+        } catch (Exception e) {
+            log.error("채팅 메시지 조회 실패: {}", conversationId, e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * 이전 방식(JSON 문자열)으로 저장된 대화를 List로 옮긴 뒤 최근 메시지 반환
+     */
+    private List<Message> migrateLegacyMessages(String conversationId, int lastN) {
+        List<Message> legacyMessages = findLegacyMessages(conversationId);
+        if (legacyMessages.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        appendAll(conversationId, legacyMessages, Math.max(lastN, legacyMessages.size()));
+        redisTemplate.delete(CHAT_MEMORY_KEY_PREFIX + conversationId);
+        log.info("이전 형식의 채팅 메모리를 List로 이전: {} - {} 개 메시지", conversationId, legacyMessages.size());
+
+        return new ArrayList<>(legacyMessages.subList(Math.max(0, legacyMessages.size() - lastN), legacyMessages.size()));
+    }
 
     @Override
     public void saveAll(String conversationId, List<Message> messages) {
+        if (isListStorage()) {
+            // 전체 교체 의미를 유지 (DEL 후 RPUSH)
+            stringRedisTemplate.delete(listKey(conversationId));
+            invalidateNearCache(conversationId);
+            appendAll(conversationId, messages, Math.max(1, messages.size()));
+            return;
+        }
+
         try {
             String key = CHAT_MEMORY_KEY_PREFIX + conversationId;
             
@@ -67,6 +208,16 @@ public class EgovRedisChatMemoryRepository implements ChatMemoryRepository {
 
     @Override
     public List<Message> findByConversationId(String conversationId) {
+        if (isListStorage()) {
+            return findLastMessages(conversationId, Integer.MAX_VALUE);
+        }
+        return findLegacyMessages(conversationId);
+    }
+
+    /**
+     * 대화 전체를 JSON 문자열 하나로 저장하는 방식의 조회
+     */
+    private List<Message> findLegacyMessages(String conversationId) {
         try {
             String key = CHAT_MEMORY_KEY_PREFIX + conversationId;
             Object value = redisTemplate.opsForValue().get(key);
@@ -100,30 +251,122 @@ public class EgovRedisChatMemoryRepository implements ChatMemoryRepository {
         try {
             String key = CHAT_MEMORY_KEY_PREFIX + conversationId;
             redisTemplate.delete(key);
+            stringRedisTemplate.delete(listKey(conversationId));
+            invalidateNearCache(conversationId);
             log.debug("Redis에서 채팅 메모리 삭제: {}", conversationId);
         } catch (Exception e) {
             log.error("채팅 메모리 삭제 실패: {}", conversationId, e);
         }
     }
 
+    /**
+     * 전체 대화 ID 조회
+     * KEYS는 키 공간 전체를 한 번에 훑는 동안 Redis를 막으므로 SCAN으로 페이지 단위로 나누어 조회
+     */
     @Override
     public List<String> findConversationIds() {
-        try {
-            Set<String> keys = redisTemplate.keys(CHAT_MEMORY_KEY_PREFIX + "*");
-            if (keys == null || keys.isEmpty()) {
-                return new ArrayList<>();
+        String keyPrefix = conversationKeyPrefix();
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(scanPageSize).build();
+
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            // SCAN은 같은 키를 여러 번 반환할 수 있으므로 중복 제거
+            Set<String> conversationIds = new LinkedHashSet<>();
+            while (cursor.hasNext()) {
+                conversationIds.add(cursor.next().substring(keyPrefix.length()));
             }
-            
-            // 키에서 conversationId 부분만 추출
-            return keys.stream()
-                    .map(key -> key.substring(CHAT_MEMORY_KEY_PREFIX.length()))
-                    .collect(Collectors.toList());
+            return new ArrayList<>(conversationIds);
         } catch (Exception e) {
             log.error("대화 ID 목록 조회 실패", e);
             return new ArrayList<>();
         }
     }
 
+    /**
+     * 대화 ID 한 페이지 조회 (SCAN 커서를 그대로 다음 페이지 요청에 사용)
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null 또는 "0")
+     * @param pageSize SCAN COUNT 값 (반환 개수는 이보다 적거나 많을 수 있음, 0 이하이면 설정값 사용)
+     */
+    public ConversationIdPage findConversationIds(String cursor, int pageSize) {
+        String keyPrefix = conversationKeyPrefix();
+        ScanParams params = new ScanParams()
+            .match(keyPrefix + "*")
+            .count(pageSize > 0 ? pageSize : scanPageSize);
+        String startCursor = cursor == null || cursor.isBlank() ? ScanParams.SCAN_POINTER_START : cursor;
+
+        ScanResult<String> result = stringRedisTemplate.execute((RedisCallback<ScanResult<String>>) connection -> {
+            if (!(connection.getNativeConnection() instanceof Jedis jedis)) {
+                throw new IllegalStateException("커서 기반 대화 ID 조회는 Jedis 연결에서만 지원됩니다.");
+            }
+            return jedis.scan(startCursor, params);
+        });
+
+        List<String> conversationIds = result.getResult().stream()
+            .map(key -> key.substring(keyPrefix.length()))
+            .collect(Collectors.toList());
+        String nextCursor = result.isCompleteIteration() ? null : result.getCursor();
+        log.debug("대화 ID 페이지 조회: cursor={}, {} 개, nextCursor={}", startCursor, conversationIds.size(), nextCursor);
+        return new ConversationIdPage(conversationIds, nextCursor);
+    }
+
+    private String conversationKeyPrefix() {
+        return isListStorage() ? CHAT_MESSAGES_KEY_PREFIX : CHAT_MEMORY_KEY_PREFIX;
+    }
+
+    /**
+     * 이 노드와 다른 노드의 근거리 캐시에서 대화 제거
+     */
+    private void invalidateNearCache(String conversationId) {
+        if (!nearCache.isEnabled()) {
+            return;
+        }
+        nearCache.invalidate(conversationId);
+        stringRedisTemplate.execute((RedisCallback<Long>) connection ->
+            connection.publish(nearCache.invalidationChannel(), nearCache.invalidationMessage(conversationId)));
+    }
+
+    private String listKey(String conversationId) {
+        return CHAT_MESSAGES_KEY_PREFIX + conversationId;
+    }
+
+    /**
+     * 저장에 사용할 코덱 (설정한 이름이 없으면 JSON)
+     */
+    private EgovChatMessageCodec writeCodec() {
+        return messageCodecs.stream()
+            .filter(codec -> codec.name().equalsIgnoreCase(codecName))
+            .findFirst()
+            .orElseGet(() -> {
+                log.warn("알 수 없는 채팅 메모리 코덱: {}, JSON 코덱 사용", codecName);
+                return codecFor(EgovJsonChatMessageCodec.NAME);
+            });
+    }
+
+    private EgovChatMessageCodec codecFor(String name) {
+        return messageCodecs.stream()
+            .filter(codec -> codec.name().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("채팅 메모리 코덱이 없습니다: " + name));
+    }
+
+    /**
+     * List 요소를 메시지로 디코딩 (요소별로 형식을 판별하므로 코덱 변경 전 데이터도 읽음, 실패 시 null)
+     */
+    private Message decodeMessage(byte[] value) {
+        try {
+            for (EgovChatMessageCodec codec : messageCodecs) {
+                if (codec.canDecode(value)) {
+                    return codec.decode(value);
+                }
+            }
+            log.warn("메시지 형식을 판별할 수 없음: {}바이트", value.length);
+            return null;
+        } catch (Exception e) {
+            log.warn("메시지 디코딩 실패: {}바이트", value.length, e);
+            return null;
+        }
+    }
+
     /**
      * Message 객체를 간단한 Map으로 변환
      */
@@ -0,0 +1,154 @@
+package com.example.chat.repository.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 바이너리 메시지 코덱
+ * [매직 1바이트][타입 1바이트][플래그 1바이트][본문 길이 4바이트]([원본 길이 4바이트])[본문 UTF-8]
+ * 임계값보다 긴 메시지(주로 어시스턴트 답변)는 Deflate로 압축하며, 압축해도 줄지 않으면 원문을 저장
+ */
+@Component
+public class EgovBinaryChatMessageCodec implements EgovChatMessageCodec {
+
+    public static final String NAME = "binary";
+
+    // JSON('{')과 구분되는 매직 바이트
+    private static final byte MAGIC = (byte) 0xC7;
+    private static final byte FLAG_DEFLATE = 0x01;
+    private static final int HEADER_SIZE = 7;
+
+    // 이 길이(UTF-8 바이트) 이상인 메시지만 압축 (0 이하이면 압축 안 함)
+    @Value("${chat.memory.compression-threshold:1024}")
+    private int compressionThreshold;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Message message) {
+        byte[] content = (message.getText() != null ? message.getText() : "").getBytes(StandardCharsets.UTF_8);
+        byte type = typeToByte(message.getMessageType());
+
+        if (compressionThreshold > 0 && content.length >= compressionThreshold) {
+            byte[] compressed = deflate(content);
+            if (compressed.length < content.length) {
+                return ByteBuffer.allocate(HEADER_SIZE + 4 + compressed.length)
+                    .put(MAGIC).put(type).put(FLAG_DEFLATE)
+                    .putInt(compressed.length)
+                    .putInt(content.length)
+                    .put(compressed)
+                    .array();
+            }
+        }
+
+        return ByteBuffer.allocate(HEADER_SIZE + content.length)
+            .put(MAGIC).put(type).put((byte) 0)
+            .putInt(content.length)
+            .put(content)
+            .array();
+    }
+
+    @Override
+    public Message decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (buffer.get() != MAGIC) {
+            throw new IllegalArgumentException("바이너리 메시지 형식이 아닙니다.");
+        }
+        byte type = buffer.get();
+        byte flags = buffer.get();
+        int length = buffer.getInt();
+
+        byte[] content;
+        if ((flags & FLAG_DEFLATE) != 0) {
+            int originalLength = buffer.getInt();
+            byte[] compressed = new byte[length];
+            buffer.get(compressed);
+            content = inflate(compressed, originalLength);
+        } else {
+            content = new byte[length];
+            buffer.get(content);
+        }
+
+        return EgovChatMessageTypes.toMessage(byteToType(type), new String(content, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean canDecode(byte[] data) {
+        return data.length >= HEADER_SIZE && data[0] == MAGIC;
+    }
+
+    private byte typeToByte(MessageType messageType) {
+        switch (messageType) {
+            case USER:
+                return 1;
+            case ASSISTANT:
+                return 2;
+            case SYSTEM:
+                return 3;
+            default:
+                return 0;
+        }
+    }
+
+    private String byteToType(byte type) {
+        switch (type) {
+            case 1:
+                return "USER";
+            case 2:
+                return "ASSISTANT";
+            case 3:
+                return "SYSTEM";
+            default:
+                return "UNKNOWN";
+        }
+    }
+
+    private byte[] deflate(byte[] content) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(content.length);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] inflate(byte[] compressed, int originalLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] content = new byte[originalLength];
+            int offset = 0;
+            while (offset < originalLength && !inflater.finished()) {
+                int inflated = inflater.inflate(content, offset, originalLength - offset);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("압축된 메시지가 손상되었습니다.");
+                }
+                offset += inflated;
+            }
+            return content;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("메시지 압축 해제 실패", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.chat.repository.codec;
+
+import org.springframework.ai.chat.messages.Message;
+
+/**
+ * 채팅 메모리 List 요소 하나(메시지 하나)의 직렬화 형식
+ * chat.memory.codec 설정의 이름으로 저장 시 사용할 코덱을 선택하며,
+ * 조회 시에는 canDecode로 요소별 형식을 판별하므로 코덱을 바꿔도 기존 데이터를 그대로 읽을 수 있음
+ */
+public interface EgovChatMessageCodec {
+
+    /**
+     * 설정에서 사용하는 코덱 이름
+     */
+    String name();
+
+    byte[] encode(Message message);
+
+    /**
+     * 디코딩 (알 수 없는 메시지 타입이면 null)
+     */
+    Message decode(byte[] data);
+
+    /**
+     * 이 코덱으로 저장된 데이터인지 판별
+     */
+    boolean canDecode(byte[] data);
+}
@@ -0,0 +1,260 @@
+package com.example.chat.repository.codec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import com.example.chat.dto.ConversationIdPage;
+import com.example.chat.repository.EgovRedisChatMemoryRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 채팅 메시지 직렬화 방식별 메시지당 바이트 수와 인코딩/디코딩 처리량 측정
+ * 기존 방식(Map → JSON 문자열 → GenericJackson2JsonRedisSerializer로 다시 JSON 인코딩)과
+ * 등록된 코덱들을 같은 메시지 집합으로 비교함 (benchmark.enabled=true인 경우에만 등록)
+ * 같은 문단을 반복한 텍스트는 Deflate가 실제 답변보다 훨씬 잘 압축하므로 저장된 세션의 실제 메시지를 우선 사용하고,
+ * 세션이 없을 때만 문장을 섞어 만든 합성 대화를 사용함. 측정 전에 시간을 재지 않는 워밍업 반복을 먼저 수행함
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "benchmark.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class EgovChatMessageCodecBenchmark {
+
+    private static final String LEGACY = "legacy-string";
+
+    private static final String SOURCE_SESSIONS = "sessions";
+    private static final String SOURCE_SYNTHETIC = "synthetic";
+
+    /** 세션에서 가져올 최대 메시지 수 */
+    private static final int MAX_SAMPLE_MESSAGES = 200;
+    /** 세션 샘플링 시 조회할 최대 대화 ID 페이지 수 */
+    private static final int MAX_SAMPLE_PAGES = 10;
+    private static final int SAMPLE_PAGE_SIZE = 100;
+    /** 합성 대화 생성용 고정 시드 (실행마다 같은 메시지 집합으로 비교) */
+    private static final long SYNTHETIC_SEED = 20240601L;
+
+    private static final String[] SAMPLE_QUESTIONS = {
+        "전자정부 표준프레임워크에서 공통컴포넌트를 적용하려면 어떤 설정이 필요한가요?",
+        "EgovAbstractServiceImpl을 상속하지 않고 서비스를 만들면 트랜잭션은 어떻게 되나요?",
+        "How do I configure a second datasource for MyBatis in eGovFrame 4.2?",
+        "로그인 세션이 30분 뒤에 끊기는데 타임아웃을 늘리려면 어디를 바꿔야 하나요?",
+        "Spring Batch job이 재시작될 때 이미 처리한 step을 건너뛰게 하려면?",
+        "행정표준코드 연계 API 호출 시 401 오류가 나요. 인증키는 어디에 넣나요?"
+    };
+
+    private static final String[] SAMPLE_SENTENCES = {
+        "공통컴포넌트를 적용하려면 먼저 필요한 컴포넌트의 소스와 설정 파일을 프로젝트에 추가해야 합니다.",
+        "context-datasource.xml에 새 DataSource 빈을 정의하고 SqlSessionFactoryBean의 dataSource 속성을 바꿔 주세요.",
+        "트랜잭션 경계는 context-transaction.xml의 AOP pointcut 표현식으로 결정되므로 패키지 이름을 확인해야 합니다.",
+        "web.xml의 <session-timeout> 값은 분 단위이며, Spring Session을 쓰는 경우 maxInactiveIntervalInSeconds를 설정합니다.",
+        "JobRepository가 같은 JobParameters로 실행된 이력을 찾으면 COMPLETED 상태의 step은 allowStartIfComplete=false일 때 건너뜁니다.",
+        "인증키는 요청 헤더가 아니라 serviceKey 쿼리 파라미터로 전달해야 하며 URL 인코딩 여부를 확인하세요.",
+        "If the mapper XML is not picked up, check that mapperLocations points to classpath*:egovframework/mapper/**/*.xml.",
+        "The ID generation service (EgovIdGnrService) needs its own table; run the DDL script under script/ddl before startup.",
+        "예외 처리는 EgovBizException을 던지고 egovMessageSource에 등록된 메시지 코드로 사용자 메시지를 구성합니다.",
+        "배포 전에 mvn -P prod package로 프로파일별 globals.properties가 올바르게 선택되는지 확인하세요.",
+        "Use @Transactional(readOnly = true) on query-only service methods so the connection pool can route them to a replica.",
+        "권한 관리 컴포넌트는 ROLE_ 접두어가 붙은 권한명을 사용하므로 DB의 AUTHOR_CODE 값과 일치시켜야 합니다."
+    };
+
+    private static final String[] SAMPLE_SNIPPETS = {
+        "```xml\n<bean id=\"dataSource-second\" class=\"org.apache.commons.dbcp2.BasicDataSource\" destroy-method=\"close\">\n"
+            + "    <property name=\"url\" value=\"${Globals.second.Url}\"/>\n</bean>\n```",
+        "```java\n@Bean\npublic Step importStep(JobRepository jobRepository) {\n"
+            + "    return new StepBuilder(\"importStep\", jobRepository).allowStartIfComplete(false).build();\n}\n```",
+        "```properties\nGlobals.DbType=mysql\nGlobals.mysql.Url=jdbc:mysql://127.0.0.1:3306/com\n```"
+    };
+
+    private final List<EgovChatMessageCodec> messageCodecs;
+    private final EgovRedisChatMemoryRepository chatMemoryRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RedisSerializer<Object> legacySerializer = new GenericJackson2JsonRedisSerializer();
+
+    /**
+     * 벤치마크 실행
+     *
+     * @param iterations 메시지 집합 전체를 인코딩/디코딩할 반복 횟수
+     * @param answerParagraphs 저장된 세션이 없을 때 사용하는 합성 긴 답변의 길이 (문단 수)
+     * @return 샘플 출처, 방식별 메시지당 평균 바이트, 초당 인코딩/디코딩 메시지 수
+     */
+    public Map<String, Object> run(int iterations, int answerParagraphs) {
+        List<Message> messages = sessionMessages();
+        String source = SOURCE_SESSIONS;
+        if (messages.isEmpty()) {
+            messages = syntheticMessages(answerParagraphs);
+            source = SOURCE_SYNTHETIC;
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sampleSource", source);
+        result.put("messages", messages.size());
+        result.put("iterations", iterations);
+        result.put(LEGACY, measure(messages, iterations, this::legacyEncode, this::legacyDecode));
+        for (EgovChatMessageCodec codec : messageCodecs) {
+            result.put(codec.name(), measure(messages, iterations, codec::encode, codec::decode));
+        }
+
+        log.info("채팅 메시지 코덱 벤치마크 결과: {}", result);
+        return result;
+    }
+
+    private Map<String, Object> measure(List<Message> messages, int iterations,
+                                        Encoder encoder, Decoder decoder) {
+        List<byte[]> encoded = new ArrayList<>(messages.size());
+        long totalBytes = 0;
+        for (Message message : messages) {
+            byte[] data = encoder.encode(message);
+            encoded.add(data);
+            totalBytes += data.length;
+        }
+
+        // JIT 컴파일과 버퍼 할당이 측정 구간에 섞이지 않도록 시간을 재지 않고 같은 횟수만큼 먼저 실행
+        for (int i = 0; i < iterations; i++) {
+            for (int j = 0; j < messages.size(); j++) {
+                encoder.encode(messages.get(j));
+                decoder.decode(encoded.get(j));
+            }
+        }
+
+        long encodeStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (Message message : messages) {
+                encoder.encode(message);
+            }
+        }
+        long encodeNanos = Math.max(1, System.nanoTime() - encodeStart);
+
+        long decodeStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (byte[] data : encoded) {
+                decoder.decode(data);
+            }
+        }
+        long decodeNanos = Math.max(1, System.nanoTime() - decodeStart);
+
+        long operations = (long) iterations * messages.size();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("avgBytesPerMessage", (double) totalBytes / messages.size());
+        metrics.put("encodePerSecond", Math.round(operations * 1_000_000_000.0 / encodeNanos));
+        metrics.put("decodePerSecond", Math.round(operations * 1_000_000_000.0 / decodeNanos));
+        return metrics;
+    }
+
+    /**
+     * 저장된 세션의 사용자/어시스턴트 메시지를 최대 MAX_SAMPLE_MESSAGES개까지 수집
+     * 조회에 실패하면 빈 목록을 반환하여 합성 대화로 대체함
+     */
+    private List<Message> sessionMessages() {
+        List<Message> messages = new ArrayList<>();
+        // SCAN은 같은 ID를 여러 페이지에 반환할 수 있으므로 이미 읽은 대화는 건너뜀
+        Set<String> visited = new HashSet<>();
+        try {
+            String cursor = null;
+            int pages = 0;
+            do {
+                ConversationIdPage page = chatMemoryRepository.findConversationIds(cursor, SAMPLE_PAGE_SIZE);
+                for (String conversationId : page.getConversationIds()) {
+                    if (!visited.add(conversationId)) {
+                        continue;
+                    }
+                    for (Message message : chatMemoryRepository.findByConversationId(conversationId)) {
+                        if (isSampleMessage(message)) {
+                            messages.add(message);
+                            if (messages.size() >= MAX_SAMPLE_MESSAGES) {
+                                return messages;
+                            }
+                        }
+                    }
+                }
+                cursor = page.getNextCursor();
+            } while (cursor != null && ++pages < MAX_SAMPLE_PAGES);
+        } catch (Exception e) {
+            log.warn("벤치마크용 세션 메시지 조회 실패, 합성 대화 사용: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+        return messages;
+    }
+
+    private boolean isSampleMessage(Message message) {
+        MessageType type = message.getMessageType();
+        return (type == MessageType.USER || type == MessageType.ASSISTANT)
+            && message.getText() != null && !message.getText().isBlank();
+    }
+
+    /**
+     * 질문/짧은 답변/긴 답변이 섞인 합성 대화
+     * 같은 문단을 반복하지 않도록 문장과 코드 조각을 고정 시드로 섞어 문단마다 다른 내용을 만듦
+     */
+    private List<Message> syntheticMessages(int answerParagraphs) {
+        Random random = new Random(SYNTHETIC_SEED);
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            messages.add(new UserMessage(SAMPLE_QUESTIONS[random.nextInt(SAMPLE_QUESTIONS.length)]));
+            int paragraphs = i % 2 == 0 ? 1 : Math.max(1, answerParagraphs);
+            StringBuilder answer = new StringBuilder();
+            for (int p = 0; p < paragraphs; p++) {
+                int sentences = 2 + random.nextInt(3);
+                for (int s = 0; s < sentences; s++) {
+                    answer.append(SAMPLE_SENTENCES[random.nextInt(SAMPLE_SENTENCES.length)]).append(' ');
+                }
+                if (random.nextInt(4) == 0) {
+                    answer.append('\n').append(SAMPLE_SNIPPETS[random.nextInt(SAMPLE_SNIPPETS.length)]);
+                }
+                answer.append('\n');
+            }
+            messages.add(new AssistantMessage(answer.toString()));
+        }
+        return messages;
+    }
+
+    private byte[] legacyEncode(Message message) {
+        try {
+            Map<String, Object> map = new HashMap<>();
+            map.put("messageType", message.getMessageType().name());
+            map.put("content", message.getText());
+            return legacySerializer.serialize(objectMapper.writeValueAsString(map));
+        } catch (Exception e) {
+            throw new IllegalStateException("기존 방식 인코딩 실패", e);
+        }
+    }
+
+    private Message legacyDecode(byte[] data) {
+        try {
+            String json = (String) legacySerializer.deserialize(data);
+            Map<String, Object> map = objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+            return EgovChatMessageTypes.toMessage((String) map.get("messageType"), (String) map.get("content"));
+        } catch (Exception e) {
+            throw new IllegalStateException("기존 방식 디코딩 실패", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        byte[] encode(Message message);
+    }
+
+    @FunctionalInterface
+    private interface Decoder {
+        Message decode(byte[] data);
+    }
+}
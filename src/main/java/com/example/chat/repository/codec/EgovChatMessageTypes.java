@@ -0,0 +1,37 @@
+package com.example.chat.repository.codec;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 코덱 공통 메시지 타입 변환
+ */
+@Slf4j
+final class EgovChatMessageTypes {
+
+    private EgovChatMessageTypes() {
+    }
+
+    static Message toMessage(String messageType, String content) {
+        if (messageType == null || content == null) {
+            log.warn("메시지 필수 정보 누락: type={}", messageType);
+            return null;
+        }
+
+        switch (messageType) {
+            case "USER":
+                return new UserMessage(content);
+            case "ASSISTANT":
+                return new AssistantMessage(content);
+            case "SYSTEM":
+                return new SystemMessage(content);
+            default:
+                log.warn("알 수 없는 메시지 타입: {}", messageType);
+                return null;
+        }
+    }
+}
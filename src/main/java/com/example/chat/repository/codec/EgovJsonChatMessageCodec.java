@@ -0,0 +1,53 @@
+package com.example.chat.repository.codec;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {"messageType", "content"} JSON 코덱 (UTF-8 바이트로 그대로 저장, 이중 인코딩 없음)
+ */
+@Component
+public class EgovJsonChatMessageCodec implements EgovChatMessageCodec {
+
+    public static final String NAME = "json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Message message) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("messageType", message.getMessageType().name());
+        map.put("content", message.getText() != null ? message.getText() : "");
+        try {
+            return objectMapper.writeValueAsBytes(map);
+        } catch (Exception e) {
+            throw new IllegalStateException("메시지 JSON 인코딩 실패", e);
+        }
+    }
+
+    @Override
+    public Message decode(byte[] data) {
+        try {
+            Map<String, Object> map = objectMapper.readValue(data, new TypeReference<Map<String, Object>>() {});
+            return EgovChatMessageTypes.toMessage((String) map.get("messageType"), (String) map.get("content"));
+        } catch (Exception e) {
+            throw new IllegalStateException("메시지 JSON 디코딩 실패", e);
+        }
+    }
+
+    @Override
+    public boolean canDecode(byte[] data) {
+        return data.length > 0 && data[0] == '{';
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.chat.service;
 
 import com.example.chat.dto.ChatSession;
+import com.example.chat.dto.ChatSessionPage;
 import org.springframework.ai.chat.messages.Message;
 
 import java.util.List;
@@ -24,6 +25,15 @@ public interface EgovChatSessionService {
      * @return 채팅 세션 목록 (최신순 정렬)
      */
     List<ChatSession> getAllSessions();
+
+    /**
+     * 채팅 세션 목록을 페이지 단위로 가져옴
+     * 
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param limit 페이지 크기
+     * @return 채팅 세션 페이지 (최신순 정렬)
+     */
+    ChatSessionPage getSessions(String cursor, int limit);
     
     /**
      * 특정 세션의 메시지 목록을 가져옴
@@ -19,6 +19,17 @@ public interface EgovSessionAwareChatService {
      * @return 스트리밍 응답 Flux
      */
     Flux<ChatResponse> streamRagResponse(String query, String model);
+
+    /**
+     * 메타데이터 필터를 적용한 세션별 RAG 기반 스트리밍 응답 생성
+     * 필터 조건에 맞는 문서 범위 안에서만 벡터 검색 수행
+     *
+     * @param query 사용자 질의
+     * @param model 사용할 모델명 (null이면 기본 모델 사용)
+     * @param filter 메타데이터 필터 식 (예: "source == 'manual.pdf' && page_number >= 10", null이면 전체 검색)
+     * @return 스트리밍 응답 Flux
+     */
+    Flux<ChatResponse> streamRagResponse(String query, String model, String filter);
     
     /**
      * 세션별 일반 스트리밍 응답 생성
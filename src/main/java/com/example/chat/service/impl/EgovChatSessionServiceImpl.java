@@ -1,6 +1,7 @@
 package com.example.chat.service.impl;
 
 import com.example.chat.dto.ChatSession;
+import com.example.chat.dto.ChatSessionPage;
 import com.example.chat.repository.EgovRedisChatMemoryRepository;
 import com.example.chat.service.EgovChatSessionService;
 import lombok.RequiredArgsConstructor;
@@ -11,15 +12,18 @@ import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -33,62 +37,180 @@ public class EgovChatSessionServiceImpl extends EgovAbstractServiceImpl implemen
     private final ChatMemory chatMemory;
     private final EgovRedisChatMemoryRepository redisChatMemoryRepository;
 
+    // 이전 세션 목록 (SET, 정렬 정보 없음)
     private static final String SESSIONS_LIST_KEY = "chat:sessions:list";
+    // 세션 목록 (ZSET, 점수 = 마지막 메시지 시간 epoch millis)
+    private static final String SESSIONS_INDEX_KEY = "chat:sessions:index";
     private static final String SESSION_INFO_KEY_PREFIX = "chat:session:";
     private static final String SESSION_INFO_KEY_SUFFIX = ":info";
 
+    // 이전 SET 목록 이전 여부 확인 (노드당 한 번)
+    private volatile boolean legacyIndexChecked = false;
+
     @Override
     public ChatSession createNewSession() {
         String sessionId = UUID.randomUUID().toString();
-        String sessionKey = SESSION_INFO_KEY_PREFIX + sessionId + SESSION_INFO_KEY_SUFFIX;
+        String sessionKey = sessionKey(sessionId);
+        LocalDateTime now = LocalDateTime.now();
 
         // Redis Hash에 세션 정보 저장
         Map<String, Object> sessionInfo = new HashMap<>();
         sessionInfo.put("title", "새 채팅");
-        sessionInfo.put("createdAt", LocalDateTime.now().toString());
-        sessionInfo.put("lastMessageAt", LocalDateTime.now().toString());
+        sessionInfo.put("createdAt", now.toString());
+        sessionInfo.put("lastMessageAt", now.toString());
 
         redisTemplate.opsForHash().putAll(sessionKey, sessionInfo);
 
         // 세션 목록에 추가
-        redisTemplate.opsForSet().add(SESSIONS_LIST_KEY, sessionId);
+        redisTemplate.opsForZSet().add(SESSIONS_INDEX_KEY, sessionId, toScore(now));
 
         log.debug("새 채팅 세션 생성: {}", sessionId);
-        return new ChatSession(sessionId, "새 채팅", LocalDateTime.now());
+        return new ChatSession(sessionId, "새 채팅", now);
     }
 
     @Override
     public List<ChatSession> getAllSessions() {
-        Set<Object> sessionIds = redisTemplate.opsForSet().members(SESSIONS_LIST_KEY);
+        migrateLegacyIndexIfNeeded();
 
+        Set<Object> sessionIds = redisTemplate.opsForZSet().reverseRange(SESSIONS_INDEX_KEY, 0, -1);
         if (sessionIds == null || sessionIds.isEmpty()) {
             return new ArrayList<>();
         }
 
-        return sessionIds.stream()
-                .map(id -> {
-                    String sessionKey = SESSION_INFO_KEY_PREFIX + id + SESSION_INFO_KEY_SUFFIX;
-                    Map<Object, Object> info = redisTemplate.opsForHash().entries(sessionKey);
-
-                    if (info.isEmpty()) {
-                        return null;
-                    }
-
-                    try {
-                        return new ChatSession(
-                                (String) id,
-                                (String) info.get("title"),
-                                LocalDateTime.parse((String) info.get("createdAt")),
-                                LocalDateTime.parse((String) info.get("lastMessageAt"))
-                        );
-                    } catch (Exception e) {
-                        log.warn("세션 정보 파싱 실패: {}", id, e);
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .sorted((a, b) -> b.getLastMessageAt().compareTo(a.getLastMessageAt()))
-                .collect(Collectors.toList());
+        return fetchSessions(sessionIds.stream().map(String::valueOf).collect(Collectors.toList()));
+    }
+
+    /**
+     * 세션 목록 페이지 조회 (ZREVRANGEBYSCORE + 세션 정보 HGETALL 파이프라인 1회)
+     * 커서는 "마지막 점수:마지막 세션 ID" 형식이며, ZSET 순서(점수 내림차순, 같은 점수는 멤버 역순)에서
+     * 그 위치 다음부터 조회하므로 이미 반환한 세션은 다시 반환되지 않음
+     * 페이지를 넘기는 사이 새 메시지가 온 세션은 커서보다 위(최신)로 이동하므로,
+     * 아직 반환하지 않은 세션이라도 이번 순회에서는 나오지 않고 첫 페이지를 다시 조회해야 보임
+     */
+    @Override
+    public ChatSessionPage getSessions(String cursor, int limit) {
+        migrateLegacyIndexIfNeeded();
+
+        double maxScore = Double.POSITIVE_INFINITY;
+        long skip = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = cursor.split(":", 2);
+            if (parts.length < 2 || parts[1].isEmpty()) {
+                throw new IllegalArgumentException("잘못된 세션 목록 커서: " + cursor);
+            }
+            maxScore = Double.parseDouble(parts[0]);
+            skip = countAtOrBeforeCursor(maxScore, parts[1]);
+        }
+
+        // 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        Set<ZSetOperations.TypedTuple<Object>> tuples = redisTemplate.opsForZSet()
+                .reverseRangeByScoreWithScores(SESSIONS_INDEX_KEY, Double.NEGATIVE_INFINITY, maxScore, skip, limit + 1);
+        if (tuples == null || tuples.isEmpty()) {
+            return new ChatSessionPage(new ArrayList<>(), null);
+        }
+
+        List<ZSetOperations.TypedTuple<Object>> page = new ArrayList<>(tuples);
+        boolean hasMore = page.size() > limit;
+        if (hasMore) {
+            page = page.subList(0, limit);
+        }
+
+        List<ChatSession> sessions = fetchSessions(page.stream()
+                .map(tuple -> String.valueOf(tuple.getValue()))
+                .collect(Collectors.toList()));
+
+        String nextCursor = null;
+        if (hasMore) {
+            ZSetOperations.TypedTuple<Object> last = page.get(page.size() - 1);
+            nextCursor = (long) last.getScore().doubleValue() + ":" + last.getValue();
+        }
+
+        log.debug("세션 목록 페이지 조회: cursor={}, {} 개, nextCursor={}", cursor, sessions.size(), nextCursor);
+        return new ChatSessionPage(sessions, nextCursor);
+    }
+
+    /**
+     * 커서 점수와 같은 점수의 세션 중 커서 세션 위치까지(포함) 있는 세션 수
+     * 커서 세션이 그 사이 갱신되어 목록에서 빠졌더라도, 같은 점수의 세션은 멤버 역순으로 정렬되므로
+     * 커서 세션 ID보다 크거나 같은 세션만 세어 원래 위치 다음부터 이어서 조회함
+     */
+    private long countAtOrBeforeCursor(double score, String lastSessionId) {
+        Set<Object> sameScoreIds = redisTemplate.opsForZSet().reverseRangeByScore(SESSIONS_INDEX_KEY, score, score);
+        if (sameScoreIds == null) {
+            return 0;
+        }
+        return sameScoreIds.stream()
+                .map(String::valueOf)
+                .filter(sessionId -> sessionId.compareTo(lastSessionId) >= 0)
+                .count();
+    }
+
+    /**
+     * 세션 정보 Hash를 한 번의 파이프라인으로 조회 (입력 순서 유지, 정보가 없는 세션은 제외)
+     */
+    private List<ChatSession> fetchSessions(List<String> sessionIds) {
+        List<Object> infos = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String sessionId : sessionIds) {
+                connection.hashCommands().hGetAll(sessionKey(sessionId).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        List<ChatSession> sessions = new ArrayList<>(sessionIds.size());
+        for (int i = 0; i < sessionIds.size(); i++) {
+            ChatSession session = toChatSession(sessionIds.get(i), (Map<?, ?>) infos.get(i));
+            if (session != null) {
+                sessions.add(session);
+            }
+        }
+        return sessions;
+    }
+
+    private ChatSession toChatSession(String sessionId, Map<?, ?> info) {
+        if (info == null || info.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return new ChatSession(
+                    sessionId,
+                    (String) info.get("title"),
+                    LocalDateTime.parse((String) info.get("createdAt")),
+                    LocalDateTime.parse((String) info.get("lastMessageAt"))
+            );
+        } catch (Exception e) {
+            log.warn("세션 정보 파싱 실패: {}", sessionId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 이전 SET 세션 목록을 마지막 메시지 시간 기준 ZSET으로 이전
+     */
+    private void migrateLegacyIndexIfNeeded() {
+        if (legacyIndexChecked) {
+            return;
+        }
+
+        synchronized (this) {
+            if (legacyIndexChecked) {
+                return;
+            }
+
+            Set<Object> legacyIds = redisTemplate.opsForSet().members(SESSIONS_LIST_KEY);
+            if (legacyIds != null && !legacyIds.isEmpty()) {
+                List<ChatSession> legacySessions = fetchSessions(legacyIds.stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.toList()));
+                for (ChatSession session : legacySessions) {
+                    redisTemplate.opsForZSet().add(SESSIONS_INDEX_KEY, session.getSessionId(),
+                            toScore(session.getLastMessageAt()));
+                }
+                redisTemplate.delete(SESSIONS_LIST_KEY);
+                log.info("이전 세션 목록을 정렬된 목록으로 이전: {} 개 세션", legacySessions.size());
+            }
+            legacyIndexChecked = true;
+        }
     }
 
     @Override
@@ -102,17 +224,20 @@ public class EgovChatSessionServiceImpl extends EgovAbstractServiceImpl implemen
 
     @Override
     public void updateSessionTitle(String sessionId, String title) {
-        String sessionKey = SESSION_INFO_KEY_PREFIX + sessionId + SESSION_INFO_KEY_SUFFIX;
+        String sessionKey = sessionKey(sessionId);
+        LocalDateTime now = LocalDateTime.now();
         redisTemplate.opsForHash().put(sessionKey, "title", title);
-        redisTemplate.opsForHash().put(sessionKey, "lastMessageAt", LocalDateTime.now().toString());
+        redisTemplate.opsForHash().put(sessionKey, "lastMessageAt", now.toString());
+        redisTemplate.opsForZSet().add(SESSIONS_INDEX_KEY, sessionId, toScore(now));
         
         log.debug("세션 제목 업데이트: {} -> {}", sessionId, title);
     }
 
     @Override
     public void updateLastMessageTime(String sessionId) {
-        String sessionKey = SESSION_INFO_KEY_PREFIX + sessionId + SESSION_INFO_KEY_SUFFIX;
-        redisTemplate.opsForHash().put(sessionKey, "lastMessageAt", LocalDateTime.now().toString());
+        LocalDateTime now = LocalDateTime.now();
+        redisTemplate.opsForHash().put(sessionKey(sessionId), "lastMessageAt", now.toString());
+        redisTemplate.opsForZSet().add(SESSIONS_INDEX_KEY, sessionId, toScore(now));
     }
 
     @Override
@@ -132,21 +257,29 @@ public class EgovChatSessionServiceImpl extends EgovAbstractServiceImpl implemen
 
     @Override
     public boolean sessionExists(String sessionId) {
-        return redisTemplate.opsForSet().isMember(SESSIONS_LIST_KEY, sessionId);
+        migrateLegacyIndexIfNeeded();
+        return redisTemplate.opsForZSet().score(SESSIONS_INDEX_KEY, sessionId) != null;
     }
 
     @Override
     public void deleteSession(String sessionId) {
         // 세션 목록에서 제거
-        redisTemplate.opsForSet().remove(SESSIONS_LIST_KEY, sessionId);
+        redisTemplate.opsForZSet().remove(SESSIONS_INDEX_KEY, sessionId);
         
         // 세션 정보 삭제
-        String sessionKey = SESSION_INFO_KEY_PREFIX + sessionId + SESSION_INFO_KEY_SUFFIX;
-        redisTemplate.delete(sessionKey);
+        redisTemplate.delete(sessionKey(sessionId));
         
         // 채팅 메모리 삭제
         redisChatMemoryRepository.deleteByConversationId(sessionId);
         
         log.debug("세션 삭제: {}", sessionId);
     }
+
+    private String sessionKey(String sessionId) {
+        return SESSION_INFO_KEY_PREFIX + sessionId + SESSION_INFO_KEY_SUFFIX;
+    }
+
+    private double toScore(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 }
@@ -1,31 +1,47 @@
 package com.example.chat.service.impl;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.egovframe.rte.fdl.cmmn.EgovAbstractServiceImpl;
 import org.springframework.ai.document.Document;
 
 import org.springframework.ai.vectorstore.redis.RedisVectorStore;
+import org.springframework.core.io.Resource;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 
 import com.example.chat.config.etl.readers.EgovMarkdownReader;
 import com.example.chat.config.etl.readers.EgovPdfReader;
+import com.example.chat.config.etl.readers.EgovStreamingDocumentReader;
 import com.example.chat.config.etl.transformers.EgovEnhancedDocumentTransformer;
 import com.example.chat.config.etl.transformers.EgovContentFormatTransformer;
 import com.example.chat.config.etl.writers.EgovVectorStoreWriter;
+import com.example.chat.config.rag.cache.EgovSemanticAnswerCache;
+import com.example.chat.config.rag.vectorstore.EgovRedisVectorStore;
+import com.example.chat.repository.EgovChunkIndexRepository;
+import com.example.chat.repository.EgovDocumentManifestRepository;
+import com.example.chat.repository.EgovDocumentManifestRepository.FileFingerprint;
 import com.example.chat.response.DocumentStatusResponse;
 import com.example.chat.service.EgovDocumentService;
 import com.example.chat.util.EgovDocumentHashUtil;
@@ -38,9 +54,30 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class EgovDocumentServiceImpl extends EgovAbstractServiceImpl implements EgovDocumentService {
 
+    private static final String DOC_META_KEY_PREFIX = "docmeta:";
+    // 청크가 어느 원본 문서에서 분할되었는지 기록하는 메타데이터 키
+    private static final String PARENT_DOCUMENT_ID_KEY = "parent_document_id";
+    private static final String CHUNK_HASH_KEY = "chunk_hash";
+    // 검색 필터용 업로드(파일 수정) 시각 메타데이터 키 (epoch 밀리초)
+    private static final String UPLOAD_DATE_KEY = "upload_date";
+    // 이전 버전(임의 UUID, 청크 색인 없음)으로 저장된 청크 정리 완료 표시 키
+    private static final String LEGACY_CHUNKS_MIGRATED_KEY = "docmeta:legacy-chunks-migrated";
+
     @Value("${spring.ai.document.path}")
     private String documentPath;
 
+    // 문서 해시 조회/저장 시 한 번의 Redis 요청으로 처리할 문서 수
+    @Value("${spring.ai.document.hash-batch-size:500}")
+    private int hashBatchSize;
+
+    // 파일 크기/수정 시각/내용 해시가 같은 파일은 파싱 없이 건너뛸지 여부
+    @Value("${spring.ai.document.skip-unchanged-files:true}")
+    private boolean skipUnchangedFiles;
+
+    // 변경/삭제된 원본의 오래된 청크를 벡터 저장소에서 삭제할지 여부
+    @Value("${spring.ai.document.delete-stale-chunks:true}")
+    private boolean deleteStaleChunks;
+
     // ETL 파이프라인 컴포넌트들
     private final EgovMarkdownReader markdownReader;
     private final EgovPdfReader pdfReader;
@@ -53,12 +90,39 @@ public class EgovDocumentServiceImpl extends EgovAbstractServiceImpl implements
     
     // 기존 의존성들
     private final StringRedisTemplate stringRedisTemplate;
-    private final Executor executor;
+    private final EgovDocumentManifestRepository manifestRepository;
+    private final EgovChunkIndexRepository chunkIndexRepository;
+
+    // 재인덱싱된 문서를 참조하는 RAG 응답 캐시 무효화
+    private final EgovSemanticAnswerCache semanticAnswerCache;
+
+    // 문서 처리 조정 및 파이프라인 단계별 실행기
+    @Qualifier("documentProcessingExecutor")
+    private final Executor documentProcessingExecutor;
+    @Qualifier("documentReadExecutor")
+    private final Executor documentReadExecutor;
+    @Qualifier("documentTransformExecutor")
+    private final Executor documentTransformExecutor;
+    @Qualifier("documentWriteExecutor")
+    private final Executor documentWriteExecutor;
 
     private final AtomicBoolean isProcessing = new AtomicBoolean(false);
     private final AtomicInteger processedCount = new AtomicInteger(0);
     private final AtomicInteger totalCount = new AtomicInteger(0);
     private final AtomicInteger changedCount = new AtomicInteger(0);
+    // 변경 감지용 해시 조회/저장에 사용된 Redis 왕복 횟수
+    private final AtomicInteger hashRoundTrips = new AtomicInteger(0);
+
+    // 여러 파일의 문서 해시를 모아 한 번의 MSET으로 저장하기 위한 대기 버퍼
+    private final Map<String, String> pendingDocumentHashes = new HashMap<>();
+    // 파일 매니페스트 비교로 읽기를 건너뛴 파일 수
+    private final AtomicInteger skippedFileCount = new AtomicInteger(0);
+    // 벡터 저장소에서 삭제한 오래된 청크 수
+    private final AtomicInteger deletedChunkCount = new AtomicInteger(0);
+    // 파이프라인 처리 중 오류가 발생한 파일 수
+    private final AtomicInteger failedFileCount = new AtomicInteger(0);
+    // 이전 버전 청크를 교체하기 위해 이번 실행에서 해시/매니페스트와 관계없이 모든 문서를 다시 처리하는지 여부
+    private volatile boolean forceReindex;
 
     @Override
     public boolean isProcessing() {
@@ -92,65 +156,439 @@ public class EgovDocumentServiceImpl extends EgovAbstractServiceImpl implements
         processedCount.set(0);
         totalCount.set(0);
         changedCount.set(0);
+        hashRoundTrips.set(0);
+        skippedFileCount.set(0);
+        deletedChunkCount.set(0);
+        failedFileCount.set(0);
 
         return CompletableFuture.supplyAsync(() -> {
             try {
-                // 1단계: 마크다운과 PDF 문서 읽기
-                List<Document> markdownDocuments = markdownReader.get();
-                List<Document> pdfDocuments = pdfReader.get();
-                
-                List<Document> allDocuments = new ArrayList<>();
-                allDocuments.addAll(markdownDocuments);
-                allDocuments.addAll(pdfDocuments);
-                
-                totalCount.set(allDocuments.size());
-                log.info("총 {}개의 문서를 로드했습니다. (마크다운: {}개, PDF: {}개)", 
-                        allDocuments.size(), markdownDocuments.size(), pdfDocuments.size());
-
-                // 2단계: 변경된 문서 필터링
-                List<Document> changedDocuments = filterChangedDocuments(allDocuments);
-                changedCount.set(changedDocuments.size());
-                log.info("총 {}개의 문서 중 {}개의 변경된 문서를 처리합니다.",
-                        allDocuments.size(), changedDocuments.size());
-
-                if (changedDocuments.isEmpty()) {
-                    log.info("변경된 문서가 없습니다. 인덱싱 작업을 건너뜁니다.");
-                    return 0;
+                // 0단계: 이전 버전으로 저장된 청크가 있으면 모든 문서를 내용 기반 ID 청크로 다시 저장한 뒤 삭제
+                List<String> legacyChunkIds = findLegacyChunkIds();
+                forceReindex = !legacyChunkIds.isEmpty();
+                if (forceReindex) {
+                    log.info("청크 색인이 없는 이전 버전 청크 {}개 발견 - 모든 문서를 다시 처리한 뒤 삭제", legacyChunkIds.size());
                 }
 
-                // 3단계: 문서 형식 정규화 (ContentFormatTransformer)
-                log.info("문서 형식 정규화 시작");
-                List<Document> normalizedDocuments = contentFormatTransformer.apply(changedDocuments);
-                log.info("문서 형식 정규화 완료: {}개 문서", normalizedDocuments.size());
+                // 1단계: 마크다운과 PDF 리소스 목록 조회 (내용은 각 파이프라인 단계에서 파일 단위로 읽음)
+                Resource[] markdownResources = markdownReader.getResources();
+                Resource[] pdfResources = pdfReader.getResources();
+                log.info("총 {}개의 파일을 파이프라인으로 처리합니다. (마크다운: {}개, PDF: {}개)",
+                        markdownResources.length + pdfResources.length, markdownResources.length, pdfResources.length);
+
+                // 2단계: 파일별로 읽기 → 변경 필터링 → 정규화/변환 → 저장 단계를 독립적으로 진행
+                List<CompletableFuture<Void>> pipelines = new ArrayList<>();
+                Map<EgovStreamingDocumentReader, Set<String>> seenPathsByReader = new LinkedHashMap<>();
+                seenPathsByReader.put(markdownReader, new HashSet<>());
+                seenPathsByReader.put(pdfReader, new HashSet<>());
+                submitAllToPipeline(markdownResources, markdownReader, pipelines, seenPathsByReader.get(markdownReader));
+                submitAllToPipeline(pdfResources, pdfReader, pipelines, seenPathsByReader.get(pdfReader));
+
+                CompletableFuture.allOf(pipelines.toArray(new CompletableFuture[0])).join();
+                flushPendingDocumentHashes();
+
+                if (forceReindex) {
+                    removeLegacyChunks(legacyChunkIds);
+                }
+
+                // 3단계: 삭제된 파일의 청크 정리
+                // 리소스 조회에 실패했거나 결과가 비어 있는 리더는 담당 파일 전체 삭제를 막기 위해 제외
+                if (deleteStaleChunks) {
+                    seenPathsByReader.values().removeIf(Set::isEmpty);
+                    deleteRemovedFiles(seenPathsByReader);
+                }
+                log.info("벡터 저장소에서 삭제한 오래된 청크: {}개", deletedChunkCount.get());
 
-                // 4단계: 문서 변환 (청크 분할, 메타데이터 추가)
-                log.info("문서 변환 시작");
-                List<Document> transformedDocuments = enhancedDocumentTransformer.apply(normalizedDocuments);
-                log.info("문서 변환 완료: {}개 청크 생성", transformedDocuments.size());
+                // 문서 단위 GET/SET 방식이었다면 조회 totalCount + 저장 changedCount 회의 왕복이 필요함
+                log.info("변경 감지 Redis 왕복: {}회 (문서 단위 처리 시 최대 {}회, 배치 크기: {})",
+                        hashRoundTrips.get(), totalCount.get() + changedCount.get(), hashBatchSize);
 
-                // 5단계: 벡터 저장소에 저장
-                log.info("벡터 저장소 저장 시작");
-                vectorStoreWriter.accept(transformedDocuments);
-                log.info("벡터 저장소 저장 완료");
+                log.info("변경되지 않아 읽기를 건너뛴 파일: {}개", skippedFileCount.get());
 
-                // 6단계: 처리된 문서 해시 저장
-                for (Document document : changedDocuments) {
-                    saveDocumentHash(document);
+                if (changedCount.get() == 0) {
+                    log.info("변경된 문서가 없습니다. 인덱싱 작업을 건너뜁니다.");
+                    return 0;
                 }
 
-                processedCount.set(transformedDocuments.size());
-                log.info("문서 처리 완료: {}개 문서 처리됨 (원본: {}개 → 청크: {}개)", 
-                    transformedDocuments.size(), changedDocuments.size(), transformedDocuments.size());
+                log.info("문서 처리 완료: 총 {}개 문서 중 {}개 변경 문서 → {}개 청크 처리됨",
+                        totalCount.get(), changedCount.get(), processedCount.get());
 
-                return transformedDocuments.size();
+                return processedCount.get();
 
             } catch (Exception e) {
                 log.error("문서 처리 중 오류 발생", e);
                 throw new RuntimeException("문서 처리 중 오류 발생", e);
             } finally {
+                // 실패로 중단된 경우에도 저장이 끝난 문서의 해시는 기록
+                try {
+                    flushPendingDocumentHashes();
+                } catch (Exception e) {
+                    log.warn("대기 중인 문서 해시 저장 실패 - 해당 문서는 다음 실행에서 다시 처리됨", e);
+                }
+                forceReindex = false;
                 isProcessing.set(false);
             }
-        }, executor);
+        }, documentProcessingExecutor);
+    }
+
+    /**
+     * 이전 버전에서 저장한 청크 ID 조회 (정리가 끝났으면 빈 목록)
+     * 이전 버전 청크는 임의 UUID로 저장되어 청크 색인에 없으므로, 문서가 변경되어도 삭제되지 않고 중복으로 남음
+     * 내용 기반 ID 청크에만 있는 chunk_hash 메타데이터가 없는 청크를 이전 버전 청크로 판단
+     */
+    private List<String> findLegacyChunkIds() {
+        if (!(redisVectorStore instanceof EgovRedisVectorStore vectorStore)) {
+            return List.of();
+        }
+
+        try {
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(LEGACY_CHUNKS_MIGRATED_KEY))) {
+                return List.of();
+            }
+
+            List<String> legacyChunkIds = vectorStore.findIdsWithoutField(CHUNK_HASH_KEY);
+            if (legacyChunkIds.isEmpty()) {
+                stringRedisTemplate.opsForValue().set(LEGACY_CHUNKS_MIGRATED_KEY, "true");
+            }
+            return legacyChunkIds;
+        } catch (Exception e) {
+            log.warn("이전 버전 청크 조회 실패 - 다음 실행에서 다시 확인: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 모든 문서를 다시 저장한 뒤 이전 버전 청크 삭제
+     * 처리에 실패한 파일이 있으면 해당 파일의 내용이 사라지지 않도록 삭제하지 않고 다음 실행에서 다시 시도
+     */
+    private void removeLegacyChunks(List<String> legacyChunkIds) {
+        if (failedFileCount.get() > 0) {
+            log.warn("처리에 실패한 파일 {}개가 있어 이전 버전 청크 삭제를 다음 실행으로 미룸", failedFileCount.get());
+            return;
+        }
+
+        for (int from = 0; from < legacyChunkIds.size(); from += hashBatchSize) {
+            vectorStoreWriter.delete(legacyChunkIds.subList(from, Math.min(from + hashBatchSize, legacyChunkIds.size())));
+        }
+        deletedChunkCount.addAndGet(legacyChunkIds.size());
+        stringRedisTemplate.opsForValue().set(LEGACY_CHUNKS_MIGRATED_KEY, "true");
+        log.info("이전 버전 청크 {}개 삭제 완료", legacyChunkIds.size());
+    }
+
+    /**
+     * 리소스를 하나씩 파이프라인에 투입
+     * 저장된 파일 매니페스트는 배치 단위 HMGET으로, 읽기 전에 ID를 알 수 있는 문서의 해시는 배치 단위 MGET으로
+     * 미리 조회하여 파일별 Redis 왕복을 피함
+     * 완료된 파이프라인은 목록에서 제거하여 파일 수와 무관하게 메모리 사용량을 일정하게 유지
+     */
+    private void submitAllToPipeline(Resource[] resources, EgovStreamingDocumentReader reader,
+                                     List<CompletableFuture<Void>> pipelines, Set<String> seenPaths) {
+        for (int from = 0; from < resources.length; from += hashBatchSize) {
+            List<Resource> batch = Arrays.asList(resources).subList(from, Math.min(from + hashBatchSize, resources.length));
+            List<FileFingerprint> storedFingerprints = findStoredFingerprints(batch);
+            Map<String, String> prefetchedHashes = prefetchDocumentHashes(batch, reader);
+
+            for (int i = 0; i < batch.size(); i++) {
+                String path = EgovDocumentManifestRepository.pathOf(batch.get(i));
+                if (path != null) {
+                    seenPaths.add(path);
+                }
+                pipelines.add(submitToPipeline(batch.get(i), reader, path, storedFingerprints.get(i), prefetchedHashes));
+                if (pipelines.size() % 100 == 0) {
+                    pipelines.removeIf(CompletableFuture::isDone);
+                }
+            }
+        }
+    }
+
+    /**
+     * 리소스 목록에 해당하는 저장된 파일 매니페스트 조회
+     * 파일 단위 변경 감지가 비활성화된 경우 모두 null로 반환
+     */
+    private List<FileFingerprint> findStoredFingerprints(List<Resource> resources) {
+        if (!skipUnchangedFiles) {
+            return Collections.nCopies(resources.size(), null);
+        }
+
+        List<String> paths = resources.stream()
+                .map(EgovDocumentManifestRepository::pathOf)
+                .map(path -> path != null ? path : "")
+                .toList();
+        return manifestRepository.findAll(paths);
+    }
+
+    /**
+     * 리소스 배치에서 생성될 문서의 기존 해시를 한 번의 MGET으로 조회
+     * 마크다운처럼 파일명으로 문서 ID가 정해지는 리더만 대상이며, 결과에는 조회한 모든 ID가 포함됨 (해시가 없으면 null)
+     */
+    private Map<String, String> prefetchDocumentHashes(List<Resource> resources, EgovStreamingDocumentReader reader) {
+        List<String> documentIds = resources.stream()
+                .flatMap(resource -> reader.documentIdsOf(resource).stream())
+                .distinct()
+                .toList();
+        if (documentIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<String> oldHashes = stringRedisTemplate.opsForValue().multiGet(documentIds.stream()
+                .map(documentId -> DOC_META_KEY_PREFIX + documentId)
+                .toList());
+        hashRoundTrips.incrementAndGet();
+
+        Map<String, String> prefetched = new HashMap<>();
+        for (int i = 0; i < documentIds.size(); i++) {
+            prefetched.put(documentIds.get(i), oldHashes != null ? oldHashes.get(i) : null);
+        }
+        return prefetched;
+    }
+
+    /**
+     * 단일 파일을 단계별 실행기로 흘려보내는 파이프라인 구성
+     * 각 단계 실행기의 대기열이 가득 차면 이전 단계가 지연되므로 메모리 사용량이 제한됨
+     */
+    private CompletableFuture<Void> submitToPipeline(Resource resource, EgovStreamingDocumentReader reader,
+                                                     String path, FileFingerprint storedFingerprint,
+                                                     Map<String, String> prefetchedHashes) {
+        return CompletableFuture
+                .supplyAsync(() -> readStage(resource, reader, path, storedFingerprint, prefetchedHashes), documentReadExecutor)
+                .thenApplyAsync(this::transformStage, documentTransformExecutor)
+                .thenAcceptAsync(this::writeStage, documentWriteExecutor)
+                .exceptionally(throwable -> {
+                    // 개별 파일 오류는 로깅 후 나머지 파일 처리를 계속 진행
+                    failedFileCount.incrementAndGet();
+                    log.error("파일 '{}' 파이프라인 처리 중 오류 발생", resource.getFilename(), throwable);
+                    return null;
+                });
+    }
+
+    /**
+     * 읽기 단계: 파일을 문서로 읽고 변경된 문서만 필터링
+     * 파일 크기/수정 시각 또는 파일 내용 해시가 저장된 매니페스트와 같으면 파싱 없이 건너뜀
+     */
+    private PipelineItem readStage(Resource resource, EgovStreamingDocumentReader reader,
+                                   String path, FileFingerprint storedFingerprint, Map<String, String> prefetchedHashes) {
+        FileFingerprint fingerprint = skipUnchangedFiles ? EgovDocumentManifestRepository.stat(resource) : null;
+
+        if (fingerprint != null) {
+            if (!forceReindex && fingerprint.hasSameStat(storedFingerprint)) {
+                skippedFileCount.incrementAndGet();
+                log.debug("파일 '{}' 변경 없음 (크기/수정 시각 동일) - 읽기 건너뜀", resource.getFilename());
+                return PipelineItem.skipped(resource.getFilename());
+            }
+
+            // 수정 시각만 바뀐 경우(복사, touch 등)를 걸러내기 위해 파일 내용 해시 비교
+            fingerprint = calculateContentHash(fingerprint, resource);
+            if (!forceReindex && fingerprint != null && fingerprint.hasSameContent(storedFingerprint)) {
+                manifestRepository.save(fingerprint);
+                skippedFileCount.incrementAndGet();
+                log.debug("파일 '{}' 변경 없음 (내용 해시 동일) - 읽기 건너뜀", resource.getFilename());
+                return PipelineItem.skipped(resource.getFilename());
+            }
+        }
+
+        List<Document> documents = reader.read(resource);
+        totalCount.addAndGet(documents.size());
+
+        List<Document> changedDocuments = filterChangedDocuments(documents, prefetchedHashes);
+        changedCount.addAndGet(changedDocuments.size());
+        log.debug("파일 '{}' 읽기 완료: {}개 문서 중 {}개 변경", resource.getFilename(), documents.size(), changedDocuments.size());
+
+        // 읽기 오류로 문서가 없을 때 기존 청크를 모두 삭제하지 않도록 문서 ID 목록을 비워 두고,
+        // 매니페스트도 기록하지 않아 다음 실행에서 다시 읽도록 함 (기록하면 내용이 바뀔 때까지 계속 건너뜀)
+        if (documents.isEmpty()) {
+            log.warn("파일 '{}'에서 읽은 문서가 없음 - 매니페스트를 기록하지 않고 다음 실행에서 다시 시도", resource.getFilename());
+            return new PipelineItem(resource.getFilename(), path, null, null, changedDocuments, List.of());
+        }
+        List<String> documentIds = documents.stream().map(Document::getId).toList();
+        return new PipelineItem(resource.getFilename(), path, fingerprint, documentIds, changedDocuments, List.of());
+    }
+
+    /**
+     * 파일 내용 해시 계산 (실패 시 null을 반환하여 매니페스트 없이 일반 처리)
+     */
+    private FileFingerprint calculateContentHash(FileFingerprint fingerprint, Resource resource) {
+        try {
+            return EgovDocumentManifestRepository.withContentHash(fingerprint, resource);
+        } catch (IOException e) {
+            log.warn("파일 '{}' 내용 해시 계산 실패 - 매니페스트 없이 처리: {}", resource.getFilename(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 변환 단계: 문서 형식 정규화 후 청크 분할 및 메타데이터 추가
+     */
+    private PipelineItem transformStage(PipelineItem item) {
+        if (item.changedDocuments().isEmpty()) {
+            return item;
+        }
+
+        // 분할된 청크가 원본 문서를 알 수 있도록 메타데이터에 원본 문서 ID 기록 (분할 시 메타데이터가 복사됨)
+        long uploadDate = item.fingerprint() != null ? item.fingerprint().lastModified() : System.currentTimeMillis();
+        for (Document document : item.changedDocuments()) {
+            document.getMetadata().put(PARENT_DOCUMENT_ID_KEY, document.getId());
+            document.getMetadata().put(UPLOAD_DATE_KEY, uploadDate);
+        }
+
+        List<Document> normalizedDocuments = contentFormatTransformer.apply(item.changedDocuments());
+        List<Document> transformedDocuments = enhancedDocumentTransformer.apply(normalizedDocuments);
+        log.debug("파일 '{}' 변환 완료: {}개 청크 생성", item.source(), transformedDocuments.size());
+
+        return new PipelineItem(item.source(), item.path(), item.fingerprint(), item.documentIds(),
+                item.changedDocuments(), transformedDocuments);
+    }
+
+    /**
+     * 저장 단계: 새로 생긴 청크만 벡터 저장소에 저장하고 오래된 청크 삭제 후 문서 해시와 파일 매니페스트 저장
+     * 매니페스트는 저장이 끝난 뒤에 기록하므로 실패한 파일은 다음 실행 시 다시 처리됨
+     */
+    private void writeStage(PipelineItem item) {
+        if (!item.changedDocuments().isEmpty()) {
+            int writtenChunks = writeChangedChunks(item);
+
+            saveDocumentHashes(item.changedDocuments());
+
+            processedCount.addAndGet(writtenChunks);
+            log.info("파일 '{}' 저장 완료: {}개 청크 중 {}개 신규 저장 (누적: {}개)",
+                    item.source(), item.chunks().size(), writtenChunks, processedCount.get());
+        }
+
+        if (deleteStaleChunks && item.path() != null && item.documentIds() != null) {
+            deleteRemovedDocuments(item.path(), item.documentIds());
+        }
+
+        if (item.fingerprint() != null) {
+            manifestRepository.save(item.fingerprint());
+        }
+    }
+
+    /**
+     * 변경된 문서의 청크를 청크 내용 해시 기반 ID로 비교하여
+     * 새로 생긴 청크만 임베딩/저장하고, 사라진 청크는 벡터 저장소에서 삭제
+     *
+     * @return 새로 저장한 청크 수
+     */
+    private int writeChangedChunks(PipelineItem item) {
+        Map<String, List<Document>> chunksByDocument = item.chunks().stream()
+                .collect(Collectors.groupingBy(
+                        chunk -> String.valueOf(chunk.getMetadata().get(PARENT_DOCUMENT_ID_KEY)),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        List<Document> chunksToWrite = new ArrayList<>();
+        Map<String, Integer> keptChunkIndexes = new LinkedHashMap<>();
+        List<String> staleChunkIds = new ArrayList<>();
+        List<String> reindexedChunkIds = new ArrayList<>();
+        Map<String, Set<String>> chunkIdsByDocument = new LinkedHashMap<>();
+
+        for (Document document : item.changedDocuments()) {
+            Map<String, Document> currentChunks = new LinkedHashMap<>();
+            List<Document> documentChunks = chunksByDocument.getOrDefault(document.getId(), List.of());
+            for (int index = 0; index < documentChunks.size(); index++) {
+                // 원본 문서 안에서의 청크 순서 (컨텍스트 패킹 시 연속된 청크만 병합하는 데 사용)
+                documentChunks.get(index).getMetadata().put(EgovVectorStoreWriter.CHUNK_INDEX_KEY, index);
+                Document chunkWithId = withContentBasedId(document.getId(), documentChunks.get(index));
+                currentChunks.putIfAbsent(chunkWithId.getId(), chunkWithId);
+            }
+
+            Set<String> existingChunkIds = chunkIndexRepository.findChunkIds(document.getId());
+            currentChunks.forEach((chunkId, chunk) -> {
+                if (!existingChunkIds.contains(chunkId)) {
+                    chunksToWrite.add(chunk);
+                } else {
+                    keptChunkIndexes.put(chunkId, (Integer) chunk.getMetadata().get(EgovVectorStoreWriter.CHUNK_INDEX_KEY));
+                }
+            });
+            existingChunkIds.stream()
+                    .filter(chunkId -> !currentChunks.containsKey(chunkId))
+                    .forEach(staleChunkIds::add);
+            reindexedChunkIds.addAll(existingChunkIds);
+
+            chunkIdsByDocument.put(document.getId(), currentChunks.keySet());
+        }
+
+        if (!chunksToWrite.isEmpty()) {
+            vectorStoreWriter.accept(chunksToWrite);
+        }
+        vectorStoreWriter.updateChunkIndexes(keptChunkIndexes);
+        if (deleteStaleChunks && !staleChunkIds.isEmpty()) {
+            vectorStoreWriter.delete(staleChunkIds);
+            deletedChunkCount.addAndGet(staleChunkIds.size());
+        }
+
+        // 변경된 문서의 이전 청크로 생성된 답변은 더 이상 유효하지 않음
+        semanticAnswerCache.invalidateByChunkIds(reindexedChunkIds);
+
+        // 저장/삭제가 끝난 뒤 청크 목록을 기록하여 실패 시 다음 실행에서 다시 비교되도록 함
+        chunkIdsByDocument.forEach(chunkIndexRepository::saveChunkIds);
+
+        log.debug("파일 '{}' 청크 비교 완료: 신규 {}개, 삭제 {}개, 유지 {}개", item.source(), chunksToWrite.size(),
+                staleChunkIds.size(), item.chunks().size() - chunksToWrite.size());
+        return chunksToWrite.size();
+    }
+
+    /**
+     * 원본 문서 ID와 청크 내용 해시로 결정적인 청크 ID를 부여
+     * 내용이 같은 청크는 재인덱싱 시에도 같은 ID를 가지므로 다시 임베딩하지 않음
+     */
+    private Document withContentBasedId(String documentId, Document chunk) {
+        String chunkHash = EgovDocumentHashUtil.calculateHash(chunk.getText());
+        String chunkId = UUID.nameUUIDFromBytes((documentId + ":" + chunkHash).getBytes(StandardCharsets.UTF_8)).toString();
+
+        chunk.getMetadata().put(CHUNK_HASH_KEY, chunkHash);
+        return new Document(chunkId, chunk.getText(), chunk.getMetadata());
+    }
+
+    /**
+     * 파일에서 더 이상 읽히지 않는 문서(삭제된 PDF 페이지 등)의 청크와 해시 삭제
+     */
+    private void deleteRemovedDocuments(String path, List<String> currentDocumentIds) {
+        Set<String> removedDocumentIds = chunkIndexRepository.findDocumentIds(path);
+        removedDocumentIds.removeAll(currentDocumentIds);
+
+        deleteDocuments(removedDocumentIds);
+        chunkIndexRepository.saveDocumentIds(path, currentDocumentIds);
+    }
+
+    /**
+     * 이전 인덱싱에는 있었지만 이번 실행에서 발견되지 않은 파일의 청크, 해시, 매니페스트 삭제
+     * 이번 실행에서 실제로 검색한 리더가 담당하는 위치의 파일만 대상으로 함
+     *
+     * @param seenPathsByReader 검색에 성공한 리더별로 발견된 파일 경로
+     */
+    private void deleteRemovedFiles(Map<EgovStreamingDocumentReader, Set<String>> seenPathsByReader) {
+        if (seenPathsByReader.isEmpty()) {
+            log.warn("검색된 파일이 없어 삭제된 파일 정리를 건너뜁니다.");
+            return;
+        }
+
+        for (String path : chunkIndexRepository.findAllPaths()) {
+            boolean removed = seenPathsByReader.entrySet().stream()
+                    .anyMatch(entry -> entry.getKey().isManagedPath(path) && !entry.getValue().contains(path));
+            if (!removed) {
+                continue;
+            }
+
+            log.info("삭제된 파일 감지 - 청크 정리: {}", path);
+            deleteDocuments(chunkIndexRepository.findDocumentIds(path));
+            chunkIndexRepository.deleteFile(path);
+            manifestRepository.delete(path);
+        }
+    }
+
+    /**
+     * 문서의 청크를 벡터 저장소에서 삭제하고 청크 목록과 문서 해시 삭제
+     */
+    private void deleteDocuments(Set<String> documentIds) {
+        for (String documentId : documentIds) {
+            List<String> chunkIds = new ArrayList<>(chunkIndexRepository.findChunkIds(documentId));
+            vectorStoreWriter.delete(chunkIds);
+            deletedChunkCount.addAndGet(chunkIds.size());
+            semanticAnswerCache.invalidateByChunkIds(chunkIds);
+
+            chunkIndexRepository.deleteChunkIds(documentId);
+            stringRedisTemplate.delete(DOC_META_KEY_PREFIX + documentId);
+            log.debug("삭제된 문서 '{}' 정리 완료: {}개 청크", documentId, chunkIds.size());
+        }
     }
 
     @Override
@@ -253,30 +691,60 @@ public class EgovDocumentServiceImpl extends EgovAbstractServiceImpl implements
 
     /**
      * 변경된 문서만 필터링하는 메서드
+     * 미리 조회한 해시가 있으면 그대로 사용하고, 나머지는 배치 단위 MGET으로 조회하여
+     * Redis 왕복 횟수를 문서 수 / 배치 크기로 줄임
+     *
+     * @param prefetchedHashes 파일 배치 단위로 미리 조회한 문서 ID별 기존 해시
      */
-    private List<Document> filterChangedDocuments(List<Document> documents) {
-        return documents.stream()
-                .filter(this::isDocumentChanged)
-                .toList();
+    private List<Document> filterChangedDocuments(List<Document> documents, Map<String, String> prefetchedHashes) {
+        List<Document> changedDocuments = new ArrayList<>();
+        List<Document> candidates = new ArrayList<>();
+        for (Document document : documents) {
+            if (document.getText() == null || document.getText().trim().isEmpty()) {
+                continue;
+            }
+            if (forceReindex) {
+                changedDocuments.add(document);
+            } else if (prefetchedHashes.containsKey(document.getId())) {
+                if (isDocumentChanged(document, prefetchedHashes.get(document.getId()))) {
+                    changedDocuments.add(document);
+                }
+            } else {
+                candidates.add(document);
+            }
+        }
+
+        for (int from = 0; from < candidates.size(); from += hashBatchSize) {
+            List<Document> batch = candidates.subList(from, Math.min(from + hashBatchSize, candidates.size()));
+            List<String> redisKeys = batch.stream()
+                    .map(document -> DOC_META_KEY_PREFIX + document.getId())
+                    .toList();
+
+            // Redis에서 기존 해시 일괄 조회
+            List<String> oldHashes = stringRedisTemplate.opsForValue().multiGet(redisKeys);
+            hashRoundTrips.incrementAndGet();
+
+            for (int i = 0; i < batch.size(); i++) {
+                String oldHash = oldHashes != null ? oldHashes.get(i) : null;
+                if (isDocumentChanged(batch.get(i), oldHash)) {
+                    changedDocuments.add(batch.get(i));
+                }
+            }
+        }
+        return changedDocuments;
     }
 
     /**
      * 문서가 변경되었는지 확인하는 메서드 (해시 저장 없이)
+     *
+     * @param document 확인할 문서
+     * @param oldHash Redis에 저장된 기존 해시 (없으면 null)
      */
-    private boolean isDocumentChanged(Document document) {
+    private boolean isDocumentChanged(Document document, String oldHash) {
         String docId = document.getId();
-        String content = document.getText();
-
-        if (content == null || content.trim().isEmpty()) {
-            return false;
-        }
 
         // 문서 내용의 해시 계산
-        String newHash = EgovDocumentHashUtil.calculateHash(content);
-
-        // Redis에서 기존 해시 조회
-        String redisKey = "docmeta:" + docId;
-        String oldHash = stringRedisTemplate.opsForValue().get(redisKey);
+        String newHash = EgovDocumentHashUtil.calculateHash(document.getText());
 
         if (oldHash != null && oldHash.equals(newHash)) {
             log.debug("문서 '{}' 변경 없음 (해시: {})", docId, newHash);
@@ -290,16 +758,59 @@ public class EgovDocumentServiceImpl extends EgovAbstractServiceImpl implements
 
     /**
      * 문서 처리 완료 후 해시값을 저장하는 메서드
+     * 여러 파일의 해시를 버퍼에 모아 배치 크기마다 MSET으로 저장하고, 남은 해시는 모든 파일 처리 후 저장
+     * 저장 전에 중단되면 해당 문서는 다음 실행에서 변경으로 판단되어 다시 처리됨 (청크는 내용 기반 ID로 중복 저장되지 않음)
      */
-    private void saveDocumentHash(Document document) {
-        String docId = document.getId();
-        String content = document.getText();
+    private void saveDocumentHashes(List<Document> documents) {
+        synchronized (pendingDocumentHashes) {
+            for (Document document : documents) {
+                String content = document.getText();
+                if (content == null || content.trim().isEmpty()) {
+                    continue;
+                }
+
+                pendingDocumentHashes.put(DOC_META_KEY_PREFIX + document.getId(), EgovDocumentHashUtil.calculateHash(content));
+                if (pendingDocumentHashes.size() >= hashBatchSize) {
+                    flushDocumentHashes(pendingDocumentHashes);
+                }
+            }
+        }
+    }
+
+    private void flushPendingDocumentHashes() {
+        synchronized (pendingDocumentHashes) {
+            flushDocumentHashes(pendingDocumentHashes);
+        }
+    }
 
-        if (content != null && !content.trim().isEmpty()) {
-            String newHash = EgovDocumentHashUtil.calculateHash(content);
-            String redisKey = "docmeta:" + docId;
-            stringRedisTemplate.opsForValue().set(redisKey, newHash);
-            log.debug("문서 '{}' 해시 저장 완료: {}", docId, newHash);
+    private void flushDocumentHashes(Map<String, String> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.opsForValue().multiSet(batch);
+        hashRoundTrips.incrementAndGet();
+        log.debug("문서 해시 {}개 일괄 저장 완료", batch.size());
+        batch.clear();
+    }
+
+    /**
+     * 파이프라인 단계 사이에서 전달되는 파일 단위 작업 항목
+     *
+     * @param source 원본 파일명
+     * @param path 원본 파일 경로 (확인할 수 없으면 null)
+     * @param fingerprint 저장 완료 후 기록할 파일 매니페스트 (건너뛴 파일이면 null)
+     * @param documentIds 파일에서 읽은 모든 문서 ID (건너뛴 파일이면 null)
+     * @param changedDocuments 변경이 감지된 원본 문서 (해시 저장 대상)
+     * @param chunks 변환 단계에서 생성된 청크
+     */
+    private record PipelineItem(String source, String path, FileFingerprint fingerprint, List<String> documentIds,
+                                List<Document> changedDocuments, List<Document> chunks) {
+
+        /**
+         * 변경이 없어 읽기를 건너뛴 파일의 작업 항목
+         */
+        static PipelineItem skipped(String source) {
+            return new PipelineItem(source, null, null, null, List.of(), List.of());
         }
     }
-} 
\ No newline at end of file
+}
@@ -1,21 +1,36 @@
 package com.example.chat.service.impl;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 import org.egovframe.rte.fdl.cmmn.EgovAbstractServiceImpl;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.ChatClient.ChatClientRequestSpec;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
-import org.springframework.ai.chat.client.advisor.api.Advisor;
 import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.converter.StructuredOutputConverter;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.rag.Query;
+import org.springframework.ai.rag.advisor.RetrievalAugmentationAdvisor;
+import org.springframework.ai.rag.retrieval.search.VectorStoreDocumentRetriever;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import com.example.chat.context.SessionContext;
 import com.example.chat.config.EgovRagConfig;
+import com.example.chat.config.rag.cache.EgovSemanticAnswerCache;
+import com.example.chat.config.rag.postprocessors.EgovContextPacker;
 import com.example.chat.config.rag.transformers.EgovCompressionQueryTransformer;
-import org.springframework.ai.rag.retrieval.search.VectorStoreDocumentRetriever;
+import com.example.chat.config.rag.vectorstore.EgovMetadataFilterValidator;
 import com.example.chat.response.TechnologyResponse;
 import com.example.chat.service.EgovSessionAwareChatService;
 import com.example.chat.util.EgovThinkTagOutputConverter;
@@ -32,7 +47,12 @@ public class EgovSessionAwareChatServiceImpl extends EgovAbstractServiceImpl imp
     private final ChatClient ollamaChatClient;
     private final MessageChatMemoryAdvisor messageChatMemoryAdvisor;
     private final EgovCompressionQueryTransformer compressionTransformer;
-    private final VectorStoreDocumentRetriever vectorStoreDocumentRetriever;
+    private final RetrievalAugmentationAdvisor ragAdvisor;
+    private final EgovSemanticAnswerCache semanticAnswerCache;
+    private final ChatMemory chatMemory;
+
+    // 캐시된 답변을 스트림으로 재생할 때 한 번에 내보낼 글자 수
+    private static final int CACHED_ANSWER_CHUNK_SIZE = 32;
 
     @Value("${rag.enable-query-compression:true}")
     private boolean enableQueryCompression;
@@ -46,29 +66,48 @@ public class EgovSessionAwareChatServiceImpl extends EgovAbstractServiceImpl imp
      */
     @Override
     public Flux<ChatResponse> streamRagResponse(String query, String model) {
+        return streamRagResponse(query, model, null);
+    }
+
+    /**
+     * 메타데이터 필터를 적용한 세션별 RAG 기반 스트리밍 응답 생성
+     */
+    @Override
+    public Flux<ChatResponse> streamRagResponse(String query, String model, String filter) {
         String sessionId = SessionContext.getCurrentSessionId();
-        log.info("세션별 RAG 기반 스트리밍 질의 수신: {}, 모델: {}, 세션: {}", query, model, sessionId);
+        log.info("세션별 RAG 기반 스트리밍 질의 수신: {}, 모델: {}, 세션: {}, 필터: {}", query, model, sessionId, filter);
 
         try {
             log.debug("세션 {} RAG 응답 생성 시작", sessionId);
             validateSessionId(sessionId);
 
+            // 필터 식은 검색 전에 검증 (잘못된 식이거나 색인되지 않은 필드면 오류 응답)
+            boolean hasFilter = StringUtils.hasText(filter);
+            if (hasFilter) {
+                EgovMetadataFilterValidator.validate(filter, EgovRagConfig.METADATA_FIELDS);
+            }
+
+            // 응답 캐시는 모델/필터별로 구분하지 않으므로 기본 모델, 전체 검색 요청에만 사용
+            if (semanticAnswerCache.isEnabled() && !hasFilter && (model == null || model.trim().isEmpty())) {
+                return streamWithSemanticCache(query, sessionId);
+            }
+
             // 원본 질문으로 ChatClient RequestSpec 생성 (사용자 메시지로 저장)
             ChatClientRequestSpec requestSpec = createRequestSpec(query, model);
 
-            // RAG 어드바이저 생성 (질문 압축 설정값에 따라 동작 결정)
-            log.info("RAG 어드바이저 생성 시작 - 세션: {}, 원본 질문: '{}', 질문 압축: {}", sessionId, query, enableQueryCompression);
-            Advisor ragAdvisor = EgovRagConfig.createRagAdvisor(sessionId, compressionTransformer, vectorStoreDocumentRetriever, enableQueryCompression);
-            log.info("RAG 어드바이저 생성 완료 - 세션: {}", sessionId);
-
             log.info("RAG 스트리밍 시작 - 세션: {}, 원본 질문: '{}'", sessionId, query);
 
             // ChatMemory 어드바이저와 RAG 어드바이저 적용
             // - MessageChatMemoryAdvisor: 원본 질문을 사용자 메시지로 저장
-            // - RAG Advisor: 내부 QueryTransformer에서 히스토리 압축 후 문서 검색
+            // - RAG Advisor: 공유 빈, 컨텍스트의 세션 ID로 히스토리 압축 후 문서 검색 (질문 압축 설정값에 따라 동작 결정)
             return requestSpec
                     .advisors(messageChatMemoryAdvisor, ragAdvisor)
-                    .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, sessionId))
+                    .advisors(a -> {
+                        a.param(ChatMemory.CONVERSATION_ID, sessionId);
+                        if (hasFilter) {
+                            a.param(VectorStoreDocumentRetriever.FILTER_EXPRESSION, filter);
+                        }
+                    })
                     .stream()
                     .chatResponse();
 
@@ -78,6 +117,69 @@ public class EgovSessionAwareChatServiceImpl extends EgovAbstractServiceImpl imp
         }
     }
 
+    /**
+     * 응답 캐시를 사용하는 RAG 스트리밍 응답 생성
+     * 독립 질문으로 캐시를 먼저 조회하고, 미적중이면 같은 독립 질문으로 검색/생성한 뒤 답변을 캐시에 저장
+     */
+    private Flux<ChatResponse> streamWithSemanticCache(String query, String sessionId) {
+        // 캐시 조회와 문서 검색에 같은 독립 질문을 사용하여 압축은 한 번만 수행
+        String standaloneQuery = enableQueryCompression
+                ? compressionTransformer.transformWithSessionId(new Query(query), sessionId).text()
+                : query;
+
+        Optional<String> cachedAnswer = semanticAnswerCache.find(standaloneQuery);
+        if (cachedAnswer.isPresent()) {
+            log.info("캐시된 RAG 응답 재생 - 세션: {}, 독립 질문: '{}'", sessionId, standaloneQuery);
+            return replayCachedAnswer(query, cachedAnswer.get(), sessionId);
+        }
+
+        StringBuilder answer = new StringBuilder();
+        Set<String> sourceChunkIds = new LinkedHashSet<>();
+
+        return createRequestSpec(query, null)
+                .advisors(messageChatMemoryAdvisor, ragAdvisor)
+                .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, sessionId)
+                        .param(EgovRagConfig.STANDALONE_QUERY_KEY, standaloneQuery))
+                .stream()
+                .chatResponse()
+                .doOnNext(response -> collectResponse(response, answer, sourceChunkIds))
+                .doOnComplete(() -> semanticAnswerCache.save(standaloneQuery, answer.toString(), sourceChunkIds));
+    }
+
+    /**
+     * 스트리밍 응답의 텍스트와 검색에 사용된 청크 ID 수집
+     */
+    private void collectResponse(ChatResponse response, StringBuilder answer, Set<String> sourceChunkIds) {
+        if (response.getResult() != null && response.getResult().getOutput().getText() != null) {
+            answer.append(response.getResult().getOutput().getText());
+        }
+
+        Object documents = response.getMetadata().get(RetrievalAugmentationAdvisor.DOCUMENT_CONTEXT);
+        if (documents instanceof List<?> documentList) {
+            for (Object document : documentList) {
+                if (document instanceof Document doc) {
+                    // 병합된 컨텍스트는 포함된 모든 원본 청크 ID를 인덱싱
+                    sourceChunkIds.addAll(EgovContextPacker.chunkIds(doc));
+                }
+            }
+        }
+    }
+
+    /**
+     * 캐시된 답변을 스트리밍 응답 형태로 재생하고 대화 기록에 저장
+     * 어드바이저를 거치지 않으므로 ChatMemory에 직접 질문과 답변을 추가
+     */
+    private Flux<ChatResponse> replayCachedAnswer(String query, String answer, String sessionId) {
+        List<ChatResponse> responses = new ArrayList<>();
+        for (int start = 0; start < answer.length(); start += CACHED_ANSWER_CHUNK_SIZE) {
+            String chunk = answer.substring(start, Math.min(answer.length(), start + CACHED_ANSWER_CHUNK_SIZE));
+            responses.add(new ChatResponse(List.of(new Generation(new AssistantMessage(chunk)))));
+        }
+
+        return Flux.fromIterable(responses)
+                .doOnComplete(() -> chatMemory.add(sessionId, List.of(new UserMessage(query), new AssistantMessage(answer))));
+    }
+
     /**
      * 세션별 일반 스트리밍 응답 생성
      */
@@ -1,5 +1,7 @@
 package com.example.chat.util;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.codec.digest.DigestUtils;
@@ -21,4 +23,15 @@ public class EgovDocumentHashUtil {
         }
         return DigestUtils.md5Hex(content.getBytes(StandardCharsets.UTF_8));
     }
+
+    /**
+     * 스트림 내용의 MD5 해시를 계산 (파일 전체를 메모리에 올리지 않음)
+     * 
+     * @param inputStream 해시를 계산할 입력 스트림 (호출한 쪽에서 닫음)
+     * @return MD5 해시값
+     * @throws IOException 스트림 읽기 실패 시
+     */
+    public static String calculateHash(InputStream inputStream) throws IOException {
+        return DigestUtils.md5Hex(inputStream);
+    }
 }
@@ -0,0 +1,73 @@
+package com.example.chat.util;
+
+/**
+ * 토크나이저 없이 토큰 수를 추정하기 위한 유틸리티 클래스
+ * 영문/숫자/기호는 약 4글자당 1토큰, 한글/한자/가나는 BPE 토크나이저에서 대부분 글자당 1토큰 이상으로
+ * 분리되므로 글자당 1토큰으로 계산
+ */
+public class EgovTokenEstimatorUtil {
+
+    // 한글/CJK 이외 문자의 토큰당 평균 글자 수
+    private static final int CHARS_PER_TOKEN = 4;
+
+    /**
+     * 텍스트의 대략적인 토큰 수 추정
+     *
+     * @param text 추정할 텍스트
+     * @return 추정 토큰 수 (null이면 0)
+     */
+    public static int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+
+        int wideChars = 0;
+        int otherChars = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (isWide(codePoint)) {
+                wideChars++;
+            } else {
+                otherChars++;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return wideChars + (otherChars + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * 추정 토큰 수가 예산을 넘지 않도록 텍스트 앞부분만 남김
+     *
+     * @param text 자를 텍스트
+     * @param tokenBudget 최대 추정 토큰 수
+     * @return 예산 안의 앞부분 텍스트
+     */
+    public static String truncate(String text, int tokenBudget) {
+        if (text == null || estimateTokens(text) <= tokenBudget) {
+            return text;
+        }
+
+        // 토큰 가중치를 글자 단위로 누적 (한글/CJK 1, 그 외 1/4)
+        int budget = tokenBudget * CHARS_PER_TOKEN;
+        int used = 0;
+        int end = 0;
+        while (end < text.length()) {
+            int codePoint = text.codePointAt(end);
+            int weight = isWide(codePoint) ? CHARS_PER_TOKEN : 1;
+            if (used + weight > budget) {
+                break;
+            }
+            used += weight;
+            end += Character.charCount(codePoint);
+        }
+        return text.substring(0, end);
+    }
+
+    private static boolean isWide(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}